@@ -0,0 +1,94 @@
+package dev.andreasgeorgatos.pointofservice;
+
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderType;
+import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Starts the application for benchmarks that measure a path through the real repositories.
+ * <p>
+ * The application runs against the database given by {@code SPRING_DATASOURCE_URL}, {@code SPRING_DATASOURCE_USERNAME}
+ * and {@code SPRING_DATASOURCE_PASSWORD}. Benchmarks insert items and orders, so this must be a scratch schema.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Starts the application on a random port, with logging turned down so it does not dominate the measurements.
+     *
+     * @param properties Extra properties in {@code key=value} form, e.g. to switch a feature off.
+     * @return The running application context. Close it in the benchmark's tear-down.
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(POSApplication.class)
+                .logStartupInfo(false)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Builds an order as a client submits it: today's date, a type, a status and items given by ID only.
+     *
+     * @param itemIds The IDs of the line items.
+     * @param orderType The order type.
+     * @param orderStatus The order status.
+     * @return The new, unsaved order.
+     */
+    public static Order newOrder(List<Long> itemIds, OrderType orderType, OrderStatuses orderStatus) {
+        List<Item> items = new ArrayList<>(itemIds.size());
+        for (Long itemId : itemIds) {
+            Item item = new Item();
+            item.setId(itemId);
+            items.add(item);
+        }
+        Order order = new Order();
+        order.setOrderDate(LocalDate.now());
+        order.setOrderTypeId(orderType);
+        order.setOrderStatusId(orderStatus);
+        order.setItems(items);
+        return order;
+    }
+
+    /**
+     * Returns the IDs of the first {@code count} items, inserting generated items first if there are not enough.
+     *
+     * @param itemRepository The item repository of the running application.
+     * @param count The number of item IDs needed.
+     * @return The IDs of {@code count} existing items.
+     */
+    public static List<Long> itemIds(ItemRepository itemRepository, int count) {
+        List<Item> items = itemRepository.findAll(PageRequest.of(0, count, Sort.by("id"))).getContent();
+        List<Long> ids = new ArrayList<>(count);
+        for (Item item : items) {
+            ids.add(item.getId());
+        }
+        List<Item> missing = new ArrayList<>();
+        for (int i = ids.size(); i < count; i++) {
+            Item item = new Item();
+            item.setItemName("Benchmark item " + i + " " + System.nanoTime());
+            item.setItemDescription("Generated by the benchmarks");
+            item.setCategory(Set.of());
+            item.setAllergenes(Set.of());
+            item.setItemPrice(450 + i);
+            missing.add(item);
+        }
+        for (Item item : itemRepository.saveAll(missing)) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+}
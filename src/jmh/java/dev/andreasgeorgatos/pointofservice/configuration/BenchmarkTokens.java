@@ -0,0 +1,50 @@
+package dev.andreasgeorgatos.pointofservice.configuration;
+
+import dev.andreasgeorgatos.pointofservice.enums.TokenFormat;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a {@link JWTUtil} without starting the application, for benchmarks of the token path alone.
+ */
+public final class BenchmarkTokens {
+
+    /**
+     * The key from {@code application.properties}, so benchmark tokens look like the ones the application mints.
+     */
+    private static final String SECRET_KEY_BASE64 = "AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8=";
+    private static final long EXPIRATION_MS = 3_600_000;
+
+    private BenchmarkTokens() {
+    }
+
+    /**
+     * Creates an initialised {@link JWTUtil}, as the application context would with {@code jwt.format} and
+     * {@code jwt.accepted-formats} set.
+     *
+     * @param format The format tokens are minted in.
+     * @param acceptedFormats The formats accepted when reading tokens. Must include {@code format}.
+     * @return The initialised utility.
+     */
+    public static JWTUtil jwtUtil(TokenFormat format, TokenFormat... acceptedFormats) {
+        JWTUtil jwtUtil = new JWTUtil();
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", EXPIRATION_MS);
+        ReflectionTestUtils.setField(jwtUtil, "secretKeyBase64", SECRET_KEY_BASE64);
+        ReflectionTestUtils.setField(jwtUtil, "tokenFormat", format);
+        ReflectionTestUtils.setField(jwtUtil, "acceptedFormats", acceptedFormats);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    /**
+     * Returns the claims the login endpoint puts in a token for a user with the given roles.
+     *
+     * @param roles The role names.
+     * @return The claims map.
+     */
+    public static Map<String, Object> claims(String... roles) {
+        return Map.of("auth", List.of(roles));
+    }
+}
@@ -0,0 +1,55 @@
+package dev.andreasgeorgatos.pointofservice.configuration;
+
+import dev.andreasgeorgatos.pointofservice.enums.TokenFormat;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of minting and of verifying one token in each {@link TokenFormat}, with the claims the login endpoint
+ * issues. Verification is the full {@link JWTUtil#getClaimsPayload} a cache miss in the token filter pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TokenFormatBenchmark {
+
+    @Param({"WRAPPED_JWE", "DIRECT_JWE", "SIGNED_JWS"})
+    public TokenFormat format;
+
+    private JWTUtil jwtUtil;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkTokens.jwtUtil(format, format);
+        claims = BenchmarkTokens.claims("ROLE_USER", "ROLE_WAITER");
+        token = jwtUtil.generateToken("waiter@example.com", claims);
+    }
+
+    @Benchmark
+    public String mint() {
+        return jwtUtil.generateToken("waiter@example.com", claims);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtil.getClaimsPayload(token);
+    }
+}
@@ -0,0 +1,100 @@
+package dev.andreasgeorgatos.pointofservice.configuration.filters;
+
+import dev.andreasgeorgatos.pointofservice.configuration.BenchmarkTokens;
+import dev.andreasgeorgatos.pointofservice.configuration.JWTUtil;
+import dev.andreasgeorgatos.pointofservice.enums.TokenFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link TokenExtractionFilter} on authenticated requests, with the {@link TokenAuthenticationCache}
+ * on and off. Requests cycle through the tokens of {@code activeUsers} logged-in users, so with the cache on every
+ * request after the first round is a hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class TokenFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    @Param({"500"})
+    public int activeUsers;
+
+    private TokenExtractionFilter filter;
+    private String[] authorizationHeaders;
+
+    @Setup
+    public void setUp() {
+        JWTUtil jwtUtil = BenchmarkTokens.jwtUtil(TokenFormat.WRAPPED_JWE, TokenFormat.WRAPPED_JWE);
+        filter = new TokenExtractionFilter(jwtUtil, new TokenAuthenticationCache(cacheEnabled, 10_000, new SimpleMeterRegistry()));
+        authorizationHeaders = new String[activeUsers];
+        for (int i = 0; i < activeUsers; i++) {
+            authorizationHeaders[i] = "Bearer " + jwtUtil.generateToken("user" + i + "@example.com", BenchmarkTokens.claims("ROLE_USER", "ROLE_WAITER"));
+        }
+    }
+
+    /**
+     * The requests one benchmark thread sends, each reused for every round through the tokens.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private MockHttpServletRequest[] requests;
+        private MockHttpServletResponse response;
+        private int next;
+
+        @Setup
+        public void setUp(TokenFilterBenchmark benchmark) {
+            requests = new MockHttpServletRequest[benchmark.authorizationHeaders.length];
+            for (int i = 0; i < requests.length; i++) {
+                requests[i] = new MockHttpServletRequest("GET", "/api/v1/orders");
+                requests[i].addHeader("Authorization", benchmark.authorizationHeaders[i]);
+            }
+            response = new MockHttpServletResponse();
+            // Start the threads at different users, as real clients would be.
+            next = ThreadLocalRandom.current().nextInt(requests.length);
+        }
+    }
+
+    @Benchmark
+    public Object filter(Requests requests) throws ServletException, IOException {
+        MockHttpServletRequest request = requests.requests[requests.next];
+        requests.next = (requests.next + 1) % requests.requests.length;
+        filter.doFilter(request, requests.response, NO_OP_CHAIN);
+        if (requests.response.getStatus() != 200) {
+            throw new IllegalStateException("The filter rejected a valid token with status " + requests.response.getStatus());
+        }
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,86 @@
+package dev.andreasgeorgatos.pointofservice.service.item;
+
+import dev.andreasgeorgatos.pointofservice.BenchmarkContext;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderType;
+import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderStatusRepository;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderTypeRepository;
+import dev.andreasgeorgatos.pointofservice.service.order.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order pricing latency against the number of line items: one {@code findById} per item, as the order path used
+ * to do, against the {@link ItemCatalog}, and a whole {@link OrderService#createOrder} on top of the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemCatalogBenchmark {
+
+    @Param({"1", "5", "15", "30"})
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private ItemCatalog itemCatalog;
+    private OrderService orderService;
+    private OrderType orderType;
+    private OrderStatuses orderStatus;
+    private List<Long> itemIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        itemRepository = context.getBean(ItemRepository.class);
+        itemCatalog = context.getBean(ItemCatalog.class);
+        orderService = context.getBean(OrderService.class);
+        orderType = context.getBean(OrderTypeRepository.class).findAll().stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("The benchmark schema needs at least one order type."));
+        orderStatus = context.getBean(OrderStatusRepository.class).findAll().stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("The benchmark schema needs at least one order status."));
+        itemIds = BenchmarkContext.itemIds(itemRepository, itemCount);
+        itemCatalog.resolve(itemIds);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void findByIdPerItem(Blackhole blackhole) {
+        for (Long itemId : itemIds) {
+            blackhole.consume(itemRepository.findById(itemId).orElseThrow().getItemPrice());
+        }
+    }
+
+    @Benchmark
+    public void catalogResolve(Blackhole blackhole) {
+        blackhole.consume(itemCatalog.resolve(itemIds));
+    }
+
+    @Benchmark
+    public Object createOrder() {
+        return orderService.createOrder(BenchmarkContext.newOrder(itemIds, orderType, orderStatus), null);
+    }
+}
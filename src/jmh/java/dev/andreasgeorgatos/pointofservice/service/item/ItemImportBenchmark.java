@@ -0,0 +1,105 @@
+package dev.andreasgeorgatos.pointofservice.service.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andreasgeorgatos.pointofservice.BenchmarkContext;
+import dev.andreasgeorgatos.pointofservice.dto.items.ItemImportReportDTO;
+import dev.andreasgeorgatos.pointofservice.enums.Allergenes;
+import dev.andreasgeorgatos.pointofservice.enums.CategoryType;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bulk import of 10k menu items, from CSV and from NDJSON, at several upsert batch sizes. The same item names
+ * are imported every time, so after the first run every row takes the update branch of the upsert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ItemImportBenchmark {
+
+    @Param({"10000"})
+    public int itemCount;
+
+    @Param({"100", "500", "1000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemImportService itemImportService;
+    private byte[] csv;
+    private byte[] ndjson;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start("items.import.batch-size=" + batchSize);
+        itemImportService = context.getBean(ItemImportService.class);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+        StringBuilder csvBuilder = new StringBuilder("itemName,itemDescription,itemPrice,isVegan,category,allergenes\n");
+        StringBuilder ndjsonBuilder = new StringBuilder();
+        for (int i = 0; i < itemCount; i++) {
+            String name = "Imported item " + i;
+            boolean vegan = i % 3 == 0;
+            long priceCents = 250 + i % 2000;
+            csvBuilder.append('"').append(name).append("\",\"Imported by the benchmark\",")
+                    .append(priceCents / 100).append('.').append(String.format("%02d", priceCents % 100)).append(',')
+                    .append(vegan).append(',')
+                    .append(CategoryType.LUNCH.name()).append('|').append(CategoryType.DINNER.name()).append(',')
+                    .append(Allergenes.GLUTEN.name()).append('\n');
+
+            Item item = new Item();
+            item.setItemName(name);
+            item.setItemDescription("Imported by the benchmark");
+            item.setItemPrice(priceCents);
+            item.setVegan(vegan);
+            item.setCategory(EnumSet.of(CategoryType.LUNCH, CategoryType.DINNER));
+            item.setAllergenes(EnumSet.of(Allergenes.GLUTEN));
+            ndjsonBuilder.append(objectMapper.writeValueAsString(item)).append('\n');
+        }
+        csv = csvBuilder.toString().getBytes(StandardCharsets.UTF_8);
+        ndjson = ndjsonBuilder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemImportReportDTO importCsv() {
+        return imported(itemImportService.importCsv(new ByteArrayInputStream(csv)));
+    }
+
+    @Benchmark
+    public ItemImportReportDTO importNdjson() {
+        return imported(itemImportService.importNdjson(new ByteArrayInputStream(ndjson)));
+    }
+
+    private static ItemImportReportDTO imported(ResponseEntity<ItemImportReportDTO> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Import failed with " + response.getStatusCode() + ": " + response.getBody());
+        }
+        return response.getBody();
+    }
+}
@@ -0,0 +1,81 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.dto.tables.TableStateDTO;
+import dev.andreasgeorgatos.pointofservice.enums.TableStatus;
+import dev.andreasgeorgatos.pointofservice.model.order.DineInTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status flips and board reads on the in-memory floor board, with hosts and servers flipping random tables from
+ * several threads at once. The board is built without a database: the flush never runs, so only the
+ * compare-and-set path and the dirty marking are measured, which is all a flip costs the caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class FloorBoardBenchmark {
+
+    private static final TableStatus[] STATUSES = TableStatus.values();
+
+    @Param({"20", "200"})
+    public int tableCount;
+
+    private FloorBoardService floorBoardService;
+
+    @Setup
+    public void setUp() {
+        floorBoardService = new FloorBoardService(null, null, event -> {
+        }, null, null, 200);
+        for (int i = 1; i <= tableCount; i++) {
+            DineInTable table = new DineInTable();
+            table.setId(i);
+            table.setTableNumber(i);
+            table.setSeats(4);
+            table.setStatus(TableStatus.AVAILABLE);
+            table.setCreatedAt(LocalDate.now());
+            table.setUpdatedAt(LocalDate.now());
+            floorBoardService.put(table, null, null);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<TableStateDTO> changeStatus() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return floorBoardService.changeStatus(random.nextInt(1, tableCount + 1), null, STATUSES[random.nextInt(STATUSES.length)]);
+    }
+
+    @Benchmark
+    public ResponseEntity<TableStateDTO> seatIfAvailable() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int tableNumber = random.nextInt(1, tableCount + 1);
+        return random.nextBoolean()
+                ? floorBoardService.changeStatus(tableNumber, TableStatus.AVAILABLE, TableStatus.OPEN)
+                : floorBoardService.changeStatus(tableNumber, TableStatus.OPEN, TableStatus.AVAILABLE);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<TableStateDTO>> getBoard() {
+        return floorBoardService.getBoard();
+    }
+}
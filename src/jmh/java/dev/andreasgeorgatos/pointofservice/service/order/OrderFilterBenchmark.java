@@ -0,0 +1,131 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.BenchmarkContext;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderType;
+import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderRepository;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderStatusRepository;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderTypeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The order search endpoints on a large {@code orders} table: one day, one day of a status, and a week of a type
+ * with and without a status, all answered from the composite indexes.
+ * <p>
+ * The setup tops the table up to {@code seedOrders} orders spread over the last year, with random statuses and
+ * types, so the first run against a fresh schema spends a few minutes seeding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderFilterBenchmark {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final int SEED_DAYS = 365;
+
+    @Param({"1000000"})
+    public int seedOrders;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private LocalDate day;
+    private long statusId;
+    private long typeId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        orderService = context.getBean(OrderService.class);
+        List<OrderStatuses> statuses = context.getBean(OrderStatusRepository.class).findAll();
+        List<OrderType> types = context.getBean(OrderTypeRepository.class).findAll();
+        if (statuses.isEmpty() || types.isEmpty()) {
+            throw new IllegalStateException("The benchmark schema needs at least one order type and status.");
+        }
+        seed(statuses, types);
+
+        day = LocalDate.now().minusDays(SEED_DAYS / 2);
+        statusId = statuses.get(0).getId();
+        typeId = types.get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object oneDay() {
+        return orderService.getOrdersByFilter(day, day, null, null);
+    }
+
+    @Benchmark
+    public Object oneDayByStatus() {
+        return orderService.getOrdersByFilter(day, day, statusId, null);
+    }
+
+    @Benchmark
+    public Object oneWeekByType() {
+        return orderService.getOrdersByFilter(day, day.plusDays(6), null, typeId);
+    }
+
+    @Benchmark
+    public Object oneWeekByStatusAndType() {
+        return orderService.getOrdersByFilter(day, day.plusDays(6), statusId, typeId);
+    }
+
+    private void seed(List<OrderStatuses> statuses, List<OrderType> types) {
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+        long missing = seedOrders - orderRepository.count();
+        if (missing <= 0) {
+            return;
+        }
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        List<Item> items = itemRepository.findAllById(BenchmarkContext.itemIds(itemRepository, 20));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.now();
+
+        while (missing > 0) {
+            int chunk = (int) Math.min(SEED_CHUNK_SIZE, missing);
+            List<Order> orders = new ArrayList<>(chunk);
+            for (int i = 0; i < chunk; i++) {
+                Item item = items.get(random.nextInt(items.size()));
+                Order order = new Order();
+                order.setOrderDate(today.minusDays(random.nextInt(SEED_DAYS)));
+                order.setOrderStatusId(statuses.get(random.nextInt(statuses.size())));
+                order.setOrderTypeId(types.get(random.nextInt(types.size())));
+                order.setItems(new ArrayList<>(List.of(item)));
+                order.setOrderTotal(item.getItemPrice());
+                orders.add(order);
+            }
+            transactionTemplate.executeWithoutResult(status -> orderRepository.saveAll(orders));
+            missing -= chunk;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.BenchmarkContext;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderType;
+import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderStatusRepository;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderTypeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order creation throughput under concurrent submissions, with group commit on, and off as the old path where
+ * every order is created in its own transaction on the submitting thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class OrderIntakeBenchmark {
+
+    @Param({"true", "false"})
+    public boolean groupCommit;
+
+    @Param({"3"})
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderIntakePipeline orderIntakePipeline;
+    private OrderType orderType;
+    private OrderStatuses orderStatus;
+    private List<Long> itemIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("orders.intake.group-commit.enabled=" + groupCommit);
+        orderIntakePipeline = context.getBean(OrderIntakePipeline.class);
+        orderType = context.getBean(OrderTypeRepository.class).findAll().stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("The benchmark schema needs at least one order type."));
+        orderStatus = context.getBean(OrderStatusRepository.class).findAll().stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("The benchmark schema needs at least one order status."));
+        itemIds = BenchmarkContext.itemIds(context.getBean(ItemRepository.class), itemCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> submit() {
+        ResponseEntity<?> response = orderIntakePipeline.submit(BenchmarkContext.newOrder(itemIds, orderType, orderStatus), null);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Order submission failed with " + response.getStatusCode() + ": " + response.getBody());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,118 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.enums.ReservationStatus;
+import dev.andreasgeorgatos.pointofservice.enums.TableStatus;
+import dev.andreasgeorgatos.pointofservice.model.order.DineInTable;
+import dev.andreasgeorgatos.pointofservice.model.order.Reservation;
+import dev.andreasgeorgatos.pointofservice.repository.orders.ReservationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Availability queries, e.g. a 4-top at 20:00 for 90 minutes, against a week of bookings on every table.
+ * <p>
+ * The schedules are loaded from a stand-in repository and the tables come from an in-memory floor board, so this
+ * measures only the interval tree lookups, which is all an availability query does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReservationAvailabilityBenchmark {
+
+    private static final int DAYS = 7;
+    private static final int[] SEATS = {2, 4, 4, 6, 8};
+
+    @Param({"30", "120"})
+    public int tableCount;
+
+    private ReservationService reservationService;
+    private LocalDateTime busySlot;
+    private LocalDateTime quietSlot;
+
+    @Setup
+    public void setUp() {
+        FloorBoardService floorBoardService = new FloorBoardService(null, null, event -> {
+        }, null, null, 200);
+        for (int i = 1; i <= tableCount; i++) {
+            DineInTable table = new DineInTable();
+            table.setId(i);
+            table.setTableNumber(i);
+            table.setSeats(SEATS[i % SEATS.length]);
+            table.setStatus(TableStatus.AVAILABLE);
+            table.setCreatedAt(LocalDate.now());
+            table.setUpdatedAt(LocalDate.now());
+            floorBoardService.put(table, null, null);
+        }
+
+        // Lunch and dinner sittings every day of the week, staggered per table so slots only partly overlap.
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        List<Reservation> reservations = new ArrayList<>();
+        long id = 1;
+        for (int table = 1; table <= tableCount; table++) {
+            for (int day = 0; day < DAYS; day++) {
+                for (LocalTime sitting : new LocalTime[]{LocalTime.of(12, 0), LocalTime.of(13, 45), LocalTime.of(18, 0), LocalTime.of(20, 0), LocalTime.of(21, 45)}) {
+                    LocalDateTime startsAt = firstDay.plusDays(day).atTime(sitting).plusMinutes(table % 4 * 15L);
+                    Reservation reservation = new Reservation();
+                    reservation.setId(id++);
+                    reservation.setTableId(table);
+                    reservation.setCustomerName("Guest " + id);
+                    reservation.setPartySize(2);
+                    reservation.setStartsAt(startsAt);
+                    reservation.setEndsAt(startsAt.plusMinutes(90));
+                    reservation.setStatus(ReservationStatus.BOOKED);
+                    reservation.setCreatedAt(LocalDateTime.now());
+                    reservations.add(reservation);
+                }
+            }
+        }
+
+        ReservationRepository reservationRepository = (ReservationRepository) Proxy.newProxyInstance(ReservationRepository.class.getClassLoader(),
+                new Class<?>[]{ReservationRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findEndingAfter")) {
+                        return reservations;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        reservationService = new ReservationService(reservationRepository, floorBoardService, null, 90);
+        reservationService.load();
+
+        busySlot = firstDay.plusDays(DAYS / 2).atTime(20, 0);
+        quietSlot = firstDay.plusDays(DAYS / 2).atTime(16, 0);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> fourTopAtDinner() {
+        return reservationService.getAvailability(busySlot, 90, 4);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> fourTopInTheAfternoon() {
+        return reservationService.getAvailability(quietSlot, 90, 4);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> anyTableAtDinner() {
+        return reservationService.getAvailability(busySlot, 90, null);
+    }
+}
@@ -1,33 +1,60 @@
 package dev.andreasgeorgatos.pointofservice.configuration;
 
+import dev.andreasgeorgatos.pointofservice.enums.TokenFormat;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwe;
+import io.jsonwebtoken.JweHeader;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedJwt;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.AeadAlgorithm;
 import io.jsonwebtoken.security.KeyAlgorithm; // Corrected import
+import io.jsonwebtoken.security.MacAlgorithm;
 import jakarta.annotation.PostConstruct; // Corrected import
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
 import java.util.Base64; // Added import
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
- * Utility class for handling JSON Web Encryption (JWE) operations, including
- * generating and parsing JWE tokens.
- * This class uses AES-256 GCM for content encryption and key wrapping.
+ * Utility class for generating and parsing the bearer tokens of the application.
+ * <p>
+ * Tokens are minted in the {@link TokenFormat} set by {@code jwt.format}: a JWE with a wrapped content key (the
+ * default), a JWE encrypted directly with the shared key, or an HS256-signed JWS. The two lighter formats are meant
+ * for internal staff terminals, where minting and verifying a token on every login and request should be cheap.
+ * <p>
+ * Parsing accepts every format listed in {@code jwt.accepted-formats}, told apart by the token header, so the
+ * format can be changed without logging everybody out: add the new format to the accepted ones, switch
+ * {@code jwt.format}, and drop the old format once its tokens have expired.
+ * <p>
+ * Each format uses its own key. The wrapped JWE uses the configured secret as before; the keys of the other two are
+ * derived from it with HMAC SHA-256, so one secret never serves two algorithms.
  */
 @Component
 public class JWTUtil {
 
     private static final String AES_ALGORITHM = "AES";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String DIRECT_KEY_LABEL = "pos-token-dir-A256GCM";
+    private static final String SIGNING_KEY_LABEL = "pos-token-HS256";
 
     // Fields for key algorithms
     private KeyAlgorithm<SecretKey, SecretKey> keyEncryptionAlgorithm;
     private AeadAlgorithm contentEncryptionAlgorithm;
+    private MacAlgorithm signatureAlgorithm;
 
     @Value("${jwt.expirationMs}")
     private long expirationMs;
@@ -35,7 +62,17 @@ public class JWTUtil {
     @Value("${jwt.secretKeyB64}")
     private String secretKeyBase64;
 
+    @Value("${jwt.format:WRAPPED_JWE}")
+    private TokenFormat tokenFormat;
+
+    @Value("${jwt.accepted-formats:WRAPPED_JWE}")
+    private TokenFormat[] acceptedFormats;
+
     private SecretKey persistentSecretKey;
+    private SecretKey directSecretKey;
+    private SecretKey signingSecretKey;
+    private Set<TokenFormat> acceptedFormatSet;
+    private JwtParser parser;
 
     /**
      * Default constructor.
@@ -47,65 +84,149 @@ public class JWTUtil {
 
     /**
      * Initializes the JWTUtil component after dependency injection.
-     * This method decodes the Base64 encoded secret key and initializes
-     * the key and content encryption algorithms.
+     * This method decodes the Base64 encoded secret key, derives the keys of the lighter token formats,
+     * initializes the algorithms and builds the parser shared by all requests.
+     *
+     * @throws IllegalStateException if the format tokens are minted in is not among the accepted ones.
      */
     @PostConstruct
     public void init() {
         byte[] decodedKey = Base64.getDecoder().decode(secretKeyBase64);
         this.persistentSecretKey = new SecretKeySpec(decodedKey, 0, decodedKey.length, AES_ALGORITHM);
+        this.directSecretKey = new SecretKeySpec(deriveKey(decodedKey, DIRECT_KEY_LABEL), AES_ALGORITHM);
+        this.signingSecretKey = new SecretKeySpec(deriveKey(decodedKey, SIGNING_KEY_LABEL), HMAC_ALGORITHM);
 
         this.keyEncryptionAlgorithm = Jwts.KEY.A256GCMKW; // AES-256 GCM Key Wrap
         this.contentEncryptionAlgorithm = Jwts.ENC.A256GCM;   // AES-256 GCM Content Encryption
+        this.signatureAlgorithm = Jwts.SIG.HS256; // HMAC SHA-256 Signature
+
+        this.acceptedFormatSet = acceptedFormats.length == 0 ? EnumSet.noneOf(TokenFormat.class) : EnumSet.of(acceptedFormats[0], acceptedFormats);
+        if (!acceptedFormatSet.contains(tokenFormat)) {
+            throw new IllegalStateException("jwt.format " + tokenFormat + " must be one of jwt.accepted-formats " + acceptedFormatSet);
+        }
+        // JwtParser is immutable and thread-safe, so one instance serves every request.
+        this.parser = Jwts.parser()
+                .keyLocator(new TokenKeyLocator())
+                .build();
+    }
+
+    /**
+     * Generates a token with the given subject and claims, in the format set by {@code jwt.format}.
+     *
+     * @param subject   The subject of the token (typically username).
+     * @param claimsMap A map of additional claims to include in the token payload.
+     * @return A compact JWE or JWS string.
+     */
+    public String generateToken(String subject, Map<String, Object> claimsMap) {
+        return generateToken(subject, claimsMap, this.tokenFormat);
     }
 
     /**
-     * Generates a JWE token with the given subject and claims.
-     * The token is encrypted using the configured persistent key and algorithms.
+     * Generates a token with the given subject and claims, in the given format.
      *
      * @param subject   The subject of the token (typically username).
      * @param claimsMap A map of additional claims to include in the token payload.
-     * @return A compact JWE string.
+     * @param format    The format of the token.
+     * @return A compact JWE or JWS string.
      */
-    public String generateJWE(String subject, Map<String, Object> claimsMap) {
+    public String generateToken(String subject, Map<String, Object> claimsMap, TokenFormat format) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
         Claims claims = Jwts.claims().subject(subject).add(claimsMap).build();
-        
-        return Jwts.builder()
+
+        JwtBuilder builder = Jwts.builder()
                 .claims(claims)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .encryptWith(this.persistentSecretKey, this.keyEncryptionAlgorithm, this.contentEncryptionAlgorithm)
-                .compact();
+                .expiration(expiryDate);
+        return switch (format) {
+            case WRAPPED_JWE -> builder.encryptWith(this.persistentSecretKey, this.keyEncryptionAlgorithm, this.contentEncryptionAlgorithm).compact();
+            case DIRECT_JWE -> builder.encryptWith(this.directSecretKey, this.contentEncryptionAlgorithm).compact();
+            case SIGNED_JWS -> builder.signWith(this.signingSecretKey, this.signatureAlgorithm).compact();
+        };
     }
 
     /**
-     * Parses a JWE string and returns the claims contained within it.
-     * The token is decrypted using the configured persistent key.
+     * Parses a token in any of the accepted formats and returns the claims contained within it.
      *
-     * @param jweString The compact JWE string to parse.
-     * @return The {@link Jwe<Claims>} object which includes headers and payload.
-     * @throws io.jsonwebtoken.JwtException if the JWE string is invalid or cannot be parsed.
+     * @param token The compact JWE or JWS string to parse.
+     * @return The {@link ProtectedJwt} which includes headers and payload.
+     * @throws UnsupportedJwtException if the token is in a format that is not accepted.
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or cannot be parsed.
      */
-    public Jwe<Claims> getClaims(String jweString) {
-        return Jwts.parser()
-                .decryptWith(this.persistentSecretKey)
-                .build()
-                .parseEncryptedClaims(jweString);
+    public ProtectedJwt<?, Claims> getClaims(String token) {
+        // A compact JWS has three parts, a compact JWE five.
+        if (countSeparators(token) == 2) {
+            return parser.parseSignedClaims(token);
+        }
+        return parser.parseEncryptedClaims(token);
     }
 
     /**
-     * Parses a JWE string and returns the claims payload.
+     * Parses a token and returns the claims payload.
      * This is a convenience method that calls {@link #getClaims(String)} and then extracts the payload.
      *
-     * @param jweString The compact JWE string to parse.
-     * @return The {@link Claims} object (payload) extracted from the JWE.
-     * @throws io.jsonwebtoken.JwtException if the JWE string is invalid or cannot be parsed.
+     * @param token The compact JWE or JWS string to parse.
+     * @return The {@link Claims} object (payload) extracted from the token.
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or cannot be parsed.
      */
-    public Claims getClaimsPayload(String jweString) {
-        Jwe<Claims> jwe = getClaims(jweString); // Use the public getClaims method
-        return jwe.getPayload();
+    public Claims getClaimsPayload(String token) {
+        return getClaims(token).getPayload(); // Use the public getClaims method
+    }
+
+    private static int countSeparators(String token) {
+        int separators = 0;
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) == '.') {
+                separators++;
+            }
+        }
+        return separators;
+    }
+
+    private static byte[] deriveKey(byte[] secret, String label) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+            return mac.doFinal(label.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not derive the token key for " + label, e);
+        }
+    }
+
+    /**
+     * Picks the key for a token from its header, and rejects formats that are not accepted as well as any
+     * algorithm other than the ones this class mints with.
+     */
+    private final class TokenKeyLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JweHeader header) {
+            if (!contentEncryptionAlgorithm.getId().equals(header.getEncryptionAlgorithm())) {
+                throw new UnsupportedJwtException("Unsupported token encryption " + header.getEncryptionAlgorithm());
+            }
+            if (keyEncryptionAlgorithm.getId().equals(header.getAlgorithm())) {
+                return accepted(TokenFormat.WRAPPED_JWE, persistentSecretKey);
+            }
+            if (Jwts.KEY.DIRECT.getId().equals(header.getAlgorithm())) {
+                return accepted(TokenFormat.DIRECT_JWE, directSecretKey);
+            }
+            throw new UnsupportedJwtException("Unsupported token key algorithm " + header.getAlgorithm());
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            if (signatureAlgorithm.getId().equals(header.getAlgorithm())) {
+                return accepted(TokenFormat.SIGNED_JWS, signingSecretKey);
+            }
+            throw new UnsupportedJwtException("Unsupported token signature algorithm " + header.getAlgorithm());
+        }
+
+        private Key accepted(TokenFormat format, Key key) {
+            if (!acceptedFormatSet.contains(format)) {
+                throw new UnsupportedJwtException("Tokens in the " + format + " format are not accepted");
+            }
+            return key;
+        }
     }
 }
@@ -1,5 +1,6 @@
 package dev.andreasgeorgatos.pointofservice.configuration;
 
+import dev.andreasgeorgatos.pointofservice.configuration.filters.TokenAuthenticationCache;
 import dev.andreasgeorgatos.pointofservice.configuration.filters.TokenExtractionFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -31,6 +32,7 @@ import java.util.Map;
 public class SecurityConfig {
 
     private final JWTUtil jwtUtil;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
 
     // Role Constants
     // These constants define the user roles used throughout the application for authorization.
@@ -48,7 +50,11 @@ public class SecurityConfig {
     private static final String[] ROLES_ALL_STAFF_AND_CUSTOMER = {
             ROLE_CUSTOMER, ROLE_COOK, ROLE_COOK_HELPER, ROLE_SERVER, ROLE_MANAGER, ROLE_ADMIN, ROLE_SYSTEM
     };
+    private static final String[] ROLES_ALL_STAFF = {
+            ROLE_COOK, ROLE_COOK_HELPER, ROLE_SERVER, ROLE_MANAGER, ROLE_ADMIN, ROLE_SYSTEM
+    };
     private static final String[] ROLES_MANAGEMENT_STAFF = {ROLE_MANAGER, ROLE_ADMIN};
+    private static final String[] ROLES_FLOOR_STAFF = {ROLE_SERVER, ROLE_MANAGER, ROLE_ADMIN, ROLE_SYSTEM}; // Staff seating guests and turning tables.
     private static final String[] ROLES_USER_ADMIN = {ROLE_USER, ROLE_ADMIN}; // Typically for operations manageable by a user on their own data or by an admin.
     private static final String[] ROLES_USER_MANAGER_ADMIN = {ROLE_USER, ROLE_MANAGER, ROLE_ADMIN};
 
@@ -57,10 +63,12 @@ public class SecurityConfig {
      * Constructs the SecurityConfig with necessary dependencies.
      *
      * @param jwtUtil Utility for handling JWT operations, used by the {@link TokenExtractionFilter}.
+     * @param tokenAuthenticationCache Cache of decrypted tokens, used by the {@link TokenExtractionFilter}.
      */
     @Autowired
-    public SecurityConfig(JWTUtil jwtUtil) {
+    public SecurityConfig(JWTUtil jwtUtil, TokenAuthenticationCache tokenAuthenticationCache) {
         this.jwtUtil = jwtUtil;
+        this.tokenAuthenticationCache = tokenAuthenticationCache;
     }
 
     /**
@@ -97,15 +105,20 @@ public class SecurityConfig {
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/users/getPermissions").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/users/verify").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.PUT, "/api/v1/users/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.PATCH, "/api/v1/users/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.DELETE, "/api/v1/users/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
 
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/employees-controller").hasAnyRole(ROLES_MANAGEMENT_STAFF);
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/employees-controller/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
 
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/item").permitAll();
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/item/filter").permitAll();
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/item/search").permitAll();
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/item/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/item").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.POST, "/api/v1/item/import").hasAnyRole(ROLES_MANAGEMENT_STAFF);
                     auth.requestMatchers(HttpMethod.PUT, "/api/v1/item/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.PATCH, "/api/v1/item/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
                     auth.requestMatchers(HttpMethod.DELETE, "/api/v1/item/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
 
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/review").permitAll();
@@ -132,11 +145,12 @@ public class SecurityConfig {
                     auth.requestMatchers(HttpMethod.PUT, "/api/v1/payment-methods/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
                     auth.requestMatchers(HttpMethod.DELETE, "/api/v1/payment-methods/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
 
-                    auth.requestMatchers(HttpMethod.GET, "/api/v1/payment").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
-                    auth.requestMatchers(HttpMethod.GET, "/api/v1/payment/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
-                    auth.requestMatchers(HttpMethod.POST, "/api/v1/payment").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
-                    auth.requestMatchers(HttpMethod.PUT, "/api/v1/payment/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
-                    auth.requestMatchers(HttpMethod.DELETE, "/api/v1/payment/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/payments").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/payments/summaries").hasAnyRole(ROLES_ALL_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/payments/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.POST, "/api/v1/payments").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.PUT, "/api/v1/payments/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.DELETE, "/api/v1/payments/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
 
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/order-status").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/order-status/{id}").hasAnyRole(ROLES_USER_MANAGER_ADMIN);
@@ -150,11 +164,20 @@ public class SecurityConfig {
                     auth.requestMatchers(HttpMethod.PUT, "/api/v1/order-types/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
                     auth.requestMatchers(HttpMethod.DELETE, "/api/v1/order-types/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
 
-                    auth.requestMatchers(HttpMethod.GET, "/api/v1/order").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
-                    auth.requestMatchers(HttpMethod.GET, "/api/v1/order/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
-                    auth.requestMatchers(HttpMethod.POST, "/api/v1/order").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
-                    auth.requestMatchers(HttpMethod.PUT, "/api/v1/order/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
-                    auth.requestMatchers(HttpMethod.DELETE, "/api/v1/order/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    // The fixed paths must precede "/api/v1/orders/{id}", which would otherwise match them first.
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/orders").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/orders/page").hasAnyRole(ROLES_ALL_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/orders/stream").hasAnyRole(ROLES_ALL_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/orders/search").hasAnyRole(ROLES_ALL_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/orders/summaries").hasAnyRole(ROLES_ALL_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/orders/feed").hasAnyRole(ROLES_ALL_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/orders/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.POST, "/api/v1/orders").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.PUT, "/api/v1/orders/status").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.PUT, "/api/v1/orders/{id}/status").hasAnyRole(ROLES_ALL_STAFF);
+                    auth.requestMatchers(HttpMethod.PUT, "/api/v1/orders/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.PATCH, "/api/v1/orders/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.DELETE, "/api/v1/orders/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
 
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/delivery-status").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/delivery-status/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
@@ -163,6 +186,7 @@ public class SecurityConfig {
                     auth.requestMatchers(HttpMethod.DELETE, "/api/v1/delivery-status/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
 
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/delivery-history").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/delivery-history/summaries").hasAnyRole(ROLES_ALL_STAFF);
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/delivery-history/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/delivery-history").hasRole(ROLE_ADMIN);
                     auth.requestMatchers(HttpMethod.PUT, "/api/v1/delivery-history/{id}").hasRole(ROLE_ADMIN);
@@ -202,14 +226,36 @@ public class SecurityConfig {
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/membership-card/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/membership-card").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.PUT, "/api/v1/membership-card/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.PATCH, "/api/v1/membership-card/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
                     auth.requestMatchers(HttpMethod.DELETE, "/api/v1/membership-card/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
 
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/item/OrderItem").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/item/OrderItem/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/item/OrderItem").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.POST, "/api/v1/order-items/batch").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.PUT, "/api/v1/item/OrderItem/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
                     auth.requestMatchers(HttpMethod.DELETE, "/api/v1/item/OrderItem/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
 
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/reports/daily-items").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/reports/daily-payments").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.POST, "/api/v1/reports/rollups/rebuild").hasRole(ROLE_ADMIN);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/reports/top-sellers").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/reports/ordered-together/{itemId}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+
+                    auth.requestMatchers(HttpMethod.GET, "/actuator/livesales").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/actuator/metrics/**").hasAnyRole(ROLES_MANAGEMENT_STAFF);
+
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/dine-in-tables/board").hasAnyRole(ROLES_FLOOR_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/dine-in-tables/board/feed").hasAnyRole(ROLES_FLOOR_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/dine-in-tables/board/{tableNumber}").hasAnyRole(ROLES_FLOOR_STAFF);
+                    auth.requestMatchers(HttpMethod.PUT, "/api/v1/dine-in-tables/board/{tableNumber}").hasAnyRole(ROLES_FLOOR_STAFF);
+
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/reservations/availability").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/reservations").hasAnyRole(ROLES_FLOOR_STAFF);
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/reservations/{id}").hasAnyRole(ROLES_FLOOR_STAFF);
+                    auth.requestMatchers(HttpMethod.POST, "/api/v1/reservations").hasAnyRole(ROLES_FLOOR_STAFF);
+                    auth.requestMatchers(HttpMethod.PUT, "/api/v1/reservations/{id}/status").hasAnyRole(ROLES_FLOOR_STAFF);
+
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/order/DineIn").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/order/DineIn/getDineInTableByNumber").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/order/DineIn/{id}").hasAnyRole(ROLES_ALL_STAFF_AND_CUSTOMER);
@@ -218,7 +264,7 @@ public class SecurityConfig {
                     auth.requestMatchers(HttpMethod.PUT, "/api/v1/order/DineIn/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
                     auth.requestMatchers(HttpMethod.DELETE, "/api/v1/order/DineIn/{id}").hasAnyRole(ROLES_MANAGEMENT_STAFF);
                 })
-                .addFilterBefore(new TokenExtractionFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class) // Add custom JWT filter
+                .addFilterBefore(new TokenExtractionFilter(jwtUtil, tokenAuthenticationCache), UsernamePasswordAuthenticationFilter.class) // Add custom JWT filter
                 .httpBasic(Customizer.withDefaults()); // Enable HTTP Basic authentication as a fallback or for specific use cases
         return http.build();
     }
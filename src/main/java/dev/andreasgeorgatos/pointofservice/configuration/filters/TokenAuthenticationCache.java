@@ -0,0 +1,151 @@
+package dev.andreasgeorgatos.pointofservice.configuration.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of the principals decrypted from bearer tokens, so that {@link TokenExtractionFilter} pays for the
+ * JWE key unwrap, content decryption and JSON parsing once per token instead of once per request.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token, so the cache never holds a usable token, and live until
+ * the token's {@code exp}; a token past its expiry is never answered from the cache and goes through the full
+ * validation again, which rejects it. Lookups are lock-free. When the cache is full, expired entries are swept
+ * first and, if that is not enough, arbitrary entries are dropped; a dropped token is simply decrypted again.
+ * <p>
+ * Hits and misses are counted in {@code pos.auth.token.cache} (tag {@code result}), and the number of entries is
+ * published as {@code pos.auth.token.cache.size}.
+ */
+@Component
+public class TokenAuthenticationCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+
+    private final Map<TokenKey, CachedAuthentication> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Constructs a {@code TokenAuthenticationCache} and registers its meters.
+     *
+     * @param enabled Whether tokens are cached at all; when disabled every lookup is a miss.
+     * @param maxEntries The maximum number of tokens held at once.
+     * @param meterRegistry Registry the hit, miss and size meters are published to.
+     */
+    @Autowired
+    public TokenAuthenticationCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                                    @Value("${jwt.cache.max-entries:10000}") int maxEntries,
+                                    MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.hits = Counter.builder("pos.auth.token.cache")
+                .description("Bearer token lookups in the decrypted-token cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("pos.auth.token.cache")
+                .description("Bearer token lookups in the decrypted-token cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("pos.auth.token.cache.size", entries, Map::size)
+                .description("Decrypted bearer tokens held in the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the principal of a token decrypted earlier, if the token has not expired since.
+     *
+     * @param token The compact token from the {@code Authorization} header.
+     * @return The cached principal, or {@code null} if the token has to be decrypted.
+     */
+    public CachedAuthentication get(String token) {
+        if (!enabled) {
+            misses.increment();
+            return null;
+        }
+        TokenKey key = TokenKey.of(token);
+        CachedAuthentication cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.expiresAtMs <= System.currentTimeMillis()) {
+            entries.remove(key, cached);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Caches the principal of a successfully decrypted token. Tokens without an expiry are not cached.
+     *
+     * @param token The compact token from the {@code Authorization} header.
+     * @param username The subject of the token.
+     * @param authorities The authorities granted by the token.
+     * @param expiration The expiry of the token.
+     */
+    public void put(String token, String username, List<GrantedAuthority> authorities, Date expiration) {
+        if (!enabled || expiration == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (expiration.getTime() <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(TokenKey.of(token), new CachedAuthentication(username, List.copyOf(authorities), expiration.getTime()));
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(cached -> cached.expiresAtMs <= now);
+        // Still full of live tokens: drop about a tenth of them rather than one per insert.
+        int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        for (Iterator<TokenKey> iterator = entries.keySet().iterator(); excess > 0 && iterator.hasNext(); excess--) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * The principal decrypted from a token.
+     *
+     * @param username The subject of the token.
+     * @param authorities The authorities granted by the token. Immutable.
+     * @param expiresAtMs The expiry of the token, in epoch milliseconds.
+     */
+    public record CachedAuthentication(String username, List<GrantedAuthority> authorities, long expiresAtMs) {
+    }
+
+    /**
+     * The SHA-256 digest of a token as four longs, which hash and compare without the cost of the token itself.
+     */
+    private record TokenKey(long a, long b, long c, long d) {
+
+        private static TokenKey of(String token) {
+            try {
+                ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+                return new TokenKey(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -1,11 +1,10 @@
 package dev.andreasgeorgatos.pointofservice.configuration.filters;
 
-import dev.andreasgeorgatos.pointofservice.configuration.JWTUtil;
 import dev.andreasgeorgatos.pointofservice.configuration.JWTUtil;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwe;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -27,7 +26,9 @@ import java.util.List;
 
 /**
  * Filter responsible for extracting and validating JWT tokens from incoming requests.
+ * Tokens may be in any of the formats accepted by {@link JWTUtil}.
  * If a valid token is found, it sets the authentication context for Spring Security.
+ * Decrypted tokens are remembered in the {@link TokenAuthenticationCache} until they expire.
  * This filter extends {@link OncePerRequestFilter} to ensure it's executed once per request.
  */
 @Component
@@ -35,6 +36,7 @@ public class TokenExtractionFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(TokenExtractionFilter.class);
     private final JWTUtil jwtUtil;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
@@ -51,9 +53,11 @@ public class TokenExtractionFilter extends OncePerRequestFilter {
      * Constructs a new TokenExtractionFilter.
      *
      * @param jwtUtil The utility class for JWT operations.
+     * @param tokenAuthenticationCache The cache of already decrypted tokens.
      */
-    public TokenExtractionFilter(JWTUtil jwtUtil) {
+    public TokenExtractionFilter(JWTUtil jwtUtil, TokenAuthenticationCache tokenAuthenticationCache) {
         this.jwtUtil = jwtUtil;
+        this.tokenAuthenticationCache = tokenAuthenticationCache;
     }
 
     /**
@@ -86,9 +90,15 @@ public class TokenExtractionFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(BEARER_PREFIX_LENGTH);
 
+        TokenAuthenticationCache.CachedAuthentication cached = tokenAuthenticationCache.get(token);
+        if (cached != null) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(cached.username(), null, cached.authorities()));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         try {
-            Jwe<Claims> claimsJwe = jwtUtil.getClaims(token);
-            Claims payload = claimsJwe.getPayload();
+            Claims payload = jwtUtil.getClaimsPayload(token);
             String username = payload.getSubject();
 
             @SuppressWarnings("unchecked") // Suppressing warning for casting Object to List<String>
@@ -102,6 +112,7 @@ public class TokenExtractionFilter extends OncePerRequestFilter {
 
             Authentication authentication = new UsernamePasswordAuthenticationToken(username, null, authorityList);
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            tokenAuthenticationCache.put(token, username, authorityList, payload.getExpiration());
 
         } catch (ExpiredJwtException e) {
             logger.warn("JWT token has expired: {} for path: {}", e.getMessage(), path);
@@ -113,6 +124,11 @@ public class TokenExtractionFilter extends OncePerRequestFilter {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Token is malformed");
             return;
+        } catch (UnsupportedJwtException e) {
+            logger.warn("JWT token format is not accepted: {} for path: {}", e.getMessage(), path);
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.getWriter().write("Token format is not accepted");
+            return;
         } catch (SignatureException e) {
             logger.warn("JWT signature validation failed: {} for path: {}", e.getMessage(), path);
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -1,5 +1,6 @@
 package dev.andreasgeorgatos.pointofservice.controller.delivery;
 
+import dev.andreasgeorgatos.pointofservice.dto.delivery.DeliveryHistorySummaryDTO;
 import dev.andreasgeorgatos.pointofservice.model.delivery.DeliveryHistory;
 import dev.andreasgeorgatos.pointofservice.service.delivery.DeliveryHistoryService;
 import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils;
@@ -38,6 +39,18 @@ public class DeliveryHistoryController {
         return deliveryHistoryService.getAllDeliveryHistories();
     }
 
+    /**
+     * Retrieves one page of lightweight delivery history rows for list views, newest first.
+     * @param beforeId The ID of the last row of the previous page; omit it for the first page.
+     * @param size The page size, capped by the service.
+     * @return A ResponseEntity containing the delivery history summaries and HTTP status OK.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<List<DeliveryHistorySummaryDTO>> getDeliveryHistorySummaries(@RequestParam(required = false) Long beforeId,
+                                                                                       @RequestParam(required = false) Integer size) {
+        return deliveryHistoryService.getDeliveryHistorySummaries(beforeId, size);
+    }
+
     /**
      * Retrieves a specific delivery history record by its ID.
      * @param id The ID of the delivery history record to retrieve.
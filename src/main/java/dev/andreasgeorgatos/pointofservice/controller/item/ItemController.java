@@ -1,16 +1,26 @@
 package dev.andreasgeorgatos.pointofservice.controller.item;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.andreasgeorgatos.pointofservice.dto.items.ItemImportReportDTO;
+import dev.andreasgeorgatos.pointofservice.enums.Allergenes;
+import dev.andreasgeorgatos.pointofservice.enums.CategoryType;
 import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.service.item.ItemImportService;
 import dev.andreasgeorgatos.pointofservice.service.item.ItemService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import dev.andreasgeorgatos.pointofservice.utils.JsonMergePatch;
 import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils; // Assuming this utility class is available
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for managing general items.
@@ -21,23 +31,56 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     /**
-     * Constructs an ItemController with the necessary service.
+     * Constructs an ItemController with the necessary services.
      * @param itemService The service to handle item operations.
+     * @param itemImportService The service to handle bulk item imports.
      */
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ItemImportService itemImportService) {
         this.itemService = itemService;
+        this.itemImportService = itemImportService;
     }
 
     /**
-     * Retrieves all items.
-     * @return A ResponseEntity containing a list of all items and HTTP status OK.
+     * Retrieves all items from the cached menu snapshot.
+     * @param ifNoneMatch The ETag of the menu the client already holds, if any.
+     * @param acceptEncoding The encodings the client accepts; the menu is sent gzipped when gzip is among them.
+     * @return A ResponseEntity containing the serialized list of all items and HTTP status OK,
+     * or HTTP status NOT_MODIFIED if the client's copy is current.
      */
     @GetMapping()
-    public ResponseEntity<List<Item>> getAllItems() {
-        return itemService.getAllItems();
+    public ResponseEntity<byte[]> getAllItems(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return itemService.getAllItems(ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Retrieves the items matching a filter, e.g. {@code ?category=BURGER&excludeAllergen=GLUTEN&vegan=true}.
+     * @param category The categories an item must all belong to, if any.
+     * @param excludeAllergen The allergens an item must contain none of, if any.
+     * @param vegan Whether only vegan ({@code true}) or only non-vegan ({@code false}) items are returned, if given.
+     * @return A ResponseEntity containing the matching items and HTTP status OK.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<List<Item>> filterItems(@RequestParam(required = false) Set<CategoryType> category,
+                                                  @RequestParam(required = false) Set<Allergenes> excludeAllergen,
+                                                  @RequestParam(required = false) Boolean vegan) {
+        return itemService.filterItems(category, excludeAllergen, vegan);
+    }
+
+    /**
+     * Searches item names and descriptions, e.g. {@code ?q=chick}.
+     * @param q The search text.
+     * @param limit The maximum number of results.
+     * @return A ResponseEntity containing the ranked results and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the query is blank.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchItems(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return itemService.searchItems(q, limit);
     }
 
     /**
@@ -67,6 +110,28 @@ public class ItemController {
         return itemService.createItem(item);
     }
 
+    /**
+     * Imports items from a CSV file with a header row, upserting them by item name.
+     * @param body The CSV file.
+     * @return A ResponseEntity containing the per-row import report and HTTP status OK,
+     * or the report and HTTP status BAD_REQUEST if the file could not be read.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ItemImportReportDTO> importItemsFromCsv(InputStream body) {
+        return itemImportService.importCsv(body);
+    }
+
+    /**
+     * Imports items from newline-delimited JSON, one item per line, upserting them by item name.
+     * @param body The NDJSON file.
+     * @return A ResponseEntity containing the per-row import report and HTTP status OK,
+     * or the report and HTTP status BAD_REQUEST if the file could not be read.
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ItemImportReportDTO> importItemsFromNdjson(InputStream body) {
+        return itemImportService.importNdjson(body);
+    }
+
     /**
      * Updates an existing item.
      * Validates the request body. If validation fails, returns a list of errors with HTTP status BAD_REQUEST.
@@ -85,6 +150,19 @@ public class ItemController {
         return itemService.editItemById(id, item);
     }
 
+    /**
+     * Partially updates an item with a JSON Merge Patch. Only the fields present in the patch are changed.
+     * @param id The ID of the item to update.
+     * @param patch The merge patch.
+     * @return A ResponseEntity containing the updated item and HTTP status OK,
+     * or HTTP status NOT_FOUND if the item does not exist,
+     * or HTTP status BAD_REQUEST if the patch is invalid.
+     */
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchItemById(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return itemService.patchItemById(id, patch);
+    }
+
     /**
      * Deletes a specific item by its ID.
      * @param id The ID of the item to delete.
@@ -1,5 +1,6 @@
 package dev.andreasgeorgatos.pointofservice.controller.item;
 
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderItemBatchCreateDTO;
 import dev.andreasgeorgatos.pointofservice.model.item.OrderItem;
 import dev.andreasgeorgatos.pointofservice.service.order.OrderItemService;
 import jakarta.validation.Valid;
@@ -67,6 +68,23 @@ public class OrderItemController {
         return orderItemService.createOrderItem(orderItem);
     }
 
+    /**
+     * Creates all lines of an order at once.
+     * Validates the request body. If validation fails, returns a list of errors with HTTP status BAD_REQUEST.
+     * @param orderItemBatchCreateDTO DTO containing the order ID and its lines.
+     * @param bindingResult Container for validation results.
+     * @return A ResponseEntity containing the IDs of the created order items and HTTP status CREATED,
+     * HTTP status NOT_FOUND if the order or an item does not exist,
+     * or a list of validation errors and HTTP status BAD_REQUEST.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createOrderItems(@Valid @RequestBody OrderItemBatchCreateDTO orderItemBatchCreateDTO, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(ValidationUtils.getValidationErrors(bindingResult));
+        }
+        return orderItemService.createOrderItems(orderItemBatchCreateDTO.getOrderId(), orderItemBatchCreateDTO.getLines());
+    }
+
     /**
      * Updates an existing order item.
      * Validates the request body. If validation fails, returns a list of errors with HTTP status BAD_REQUEST.
@@ -1,14 +1,19 @@
 package dev.andreasgeorgatos.pointofservice.controller.orders;
 
 import dev.andreasgeorgatos.pointofservice.dto.tables.TableNumberDTO;
+import dev.andreasgeorgatos.pointofservice.dto.tables.TableStateDTO;
+import dev.andreasgeorgatos.pointofservice.dto.tables.TableStatusChangeDTO;
 import dev.andreasgeorgatos.pointofservice.model.order.DineInTable;
 import dev.andreasgeorgatos.pointofservice.service.order.DineInTableService;
+import dev.andreasgeorgatos.pointofservice.service.order.FloorBoardService;
+import dev.andreasgeorgatos.pointofservice.service.order.FloorPlanFeedService;
 import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -22,14 +27,69 @@ import java.util.List;
 public class DineInTableController {
 
     private final DineInTableService dineInTableService;
+    private final FloorBoardService floorBoardService;
+    private final FloorPlanFeedService floorPlanFeedService;
 
     /**
-     * Constructs a DineInTableController with the necessary service.
+     * Constructs a DineInTableController with the necessary services.
      * @param dineInTableService The service to handle dine-in table operations.
+     * @param floorBoardService The in-memory floor board holding the status of every table.
+     * @param floorPlanFeedService The service pushing floor board changes to connected tablets.
      */
     @Autowired
-    public DineInTableController(DineInTableService dineInTableService) {
+    public DineInTableController(DineInTableService dineInTableService, FloorBoardService floorBoardService, FloorPlanFeedService floorPlanFeedService) {
         this.dineInTableService = dineInTableService;
+        this.floorBoardService = floorBoardService;
+        this.floorPlanFeedService = floorPlanFeedService;
+    }
+
+    /**
+     * Retrieves the status of every table from the in-memory floor board, without touching the database.
+     * @return A ResponseEntity containing the state of every table, ordered by table number, and HTTP status OK.
+     */
+    @GetMapping("/board")
+    public ResponseEntity<List<TableStateDTO>> getBoard() {
+        return floorBoardService.getBoard();
+    }
+
+    /**
+     * Opens a Server-Sent Events feed of the floor board for host stand tablets: a snapshot of every table,
+     * then coalesced deltas whenever a table's status or server changes.
+     * @return The emitter streaming the events.
+     */
+    @GetMapping(value = "/board/feed", produces = "text/event-stream")
+    public SseEmitter getBoardFeed() {
+        return floorPlanFeedService.subscribe();
+    }
+
+    /**
+     * Retrieves the status of one table from the in-memory floor board.
+     * @param tableNumber The table number.
+     * @return A ResponseEntity containing the state of the table and HTTP status OK,
+     * or HTTP status NOT_FOUND if there is no such table.
+     */
+    @GetMapping("/board/{tableNumber}")
+    public ResponseEntity<TableStateDTO> getBoardTable(@PathVariable int tableNumber) {
+        return floorBoardService.getTable(tableNumber);
+    }
+
+    /**
+     * Changes the status of a table on the floor board. The change is persisted shortly afterwards.
+     * Validates the request body. If validation fails, returns a list of errors with HTTP status BAD_REQUEST.
+     * @param tableNumber The table number.
+     * @param change The new status and, optionally, the status the table must currently have.
+     * @param bindingResult Container for validation results.
+     * @return A ResponseEntity containing the new state of the table and HTTP status OK,
+     * or HTTP status NOT_FOUND if there is no such table,
+     * or the current state and HTTP status CONFLICT if the table does not have the expected status,
+     * or a list of validation errors and HTTP status BAD_REQUEST.
+     */
+    @PutMapping("/board/{tableNumber}")
+    public ResponseEntity<?> changeTableStatus(@PathVariable int tableNumber, @Valid @RequestBody TableStatusChangeDTO change, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(ValidationUtils.getValidationErrors(bindingResult));
+        }
+        return floorBoardService.changeStatus(tableNumber, change.getExpectedStatus(), change.getStatus());
     }
 
     /**
@@ -132,7 +192,8 @@ public class DineInTableController {
      * Deletes a specific dine-in table by its ID.
      * @param id The ID of the dine-in table to delete.
      * @return A ResponseEntity with HTTP status NO_CONTENT if successful,
-     * or HTTP status NOT_FOUND if the table does not exist.
+     * HTTP status NOT_FOUND if the table does not exist,
+     * or HTTP status CONFLICT if the table has upcoming reservations.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteDineInTableById(@PathVariable Long id) {
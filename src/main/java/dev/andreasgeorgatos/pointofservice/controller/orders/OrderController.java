@@ -1,15 +1,26 @@
 package dev.andreasgeorgatos.pointofservice.controller.orders;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderBulkStatusUpdateDTO;
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderStatusUpdateDTO;
 import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.service.order.OrderFeedService;
+import dev.andreasgeorgatos.pointofservice.service.order.OrderIntakePipeline;
 import dev.andreasgeorgatos.pointofservice.service.order.OrderService;
+import dev.andreasgeorgatos.pointofservice.utils.JsonMergePatch;
 import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -20,15 +31,23 @@ import java.util.List;
 @RequestMapping("/api/v1/orders") // Changed RequestMapping
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final OrderIntakePipeline orderIntakePipeline;
+    private final OrderFeedService orderFeedService;
 
     /**
-     * Constructs an OrderController with the necessary service.
+     * Constructs an OrderController with the necessary services.
      * @param orderService The service to handle order operations.
+     * @param orderIntakePipeline The pipeline that group-commits newly submitted orders.
+     * @param orderFeedService The service that pushes order changes to kitchen displays.
      */
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIntakePipeline orderIntakePipeline, OrderFeedService orderFeedService) {
         this.orderService = orderService;
+        this.orderIntakePipeline = orderIntakePipeline;
+        this.orderFeedService = orderFeedService;
     }
 
     /**
@@ -40,6 +59,67 @@ public class OrderController {
         return orderService.getAllOrders();
     }
 
+    /**
+     * Retrieves one page of orders, newest first.
+     * @param cursor The cursor returned with the previous page; omit it for the first page.
+     * @param size The page size, capped by the service.
+     * @return A ResponseEntity containing the page of orders and the cursor of the next page,
+     * or HTTP status BAD_REQUEST if the cursor is invalid.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getOrdersPage(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return orderService.getOrdersPage(cursor, size);
+    }
+
+    /**
+     * Retrieves lightweight order rows (ID, date, status, type, total and item count) for list views.
+     * @param from The first order date (ISO format) to include; defaults to today.
+     * @param to The last order date (ISO format) to include; defaults to {@code from}.
+     * @return A ResponseEntity containing the order summaries and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the date range is invalid or longer than 31 days.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<?> getOrderSummaries(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return orderService.getOrderSummaries(from, to);
+    }
+
+    /**
+     * Retrieves the orders placed within a date range, optionally filtered by status and type.
+     * @param from The first order date (ISO format) to include; defaults to today.
+     * @param to The last order date (ISO format) to include; defaults to {@code from}.
+     * @param statusId The order status ID to filter by, if any.
+     * @param typeId The order type ID to filter by, if any.
+     * @return A ResponseEntity containing the matching orders and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the date range is invalid or longer than 31 days.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> getOrdersByFilter(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                               @RequestParam(required = false) Long statusId,
+                                               @RequestParam(required = false) Long typeId) {
+        return orderService.getOrdersByFilter(from, to, statusId, typeId);
+    }
+
+    /**
+     * Streams all orders as newline-delimited JSON without loading them into memory at once.
+     * @return A ResponseEntity whose body writes the orders as they are read from the database.
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        return orderService.streamAllOrders();
+    }
+
+    /**
+     * Opens a Server-Sent Events feed of order creations and status changes for kitchen displays.
+     * @param lastEventId The ID of the last event received before a reconnect; missed events are replayed.
+     * @return The emitter streaming the events.
+     */
+    @GetMapping(value = "/feed", produces = "text/event-stream")
+    public SseEmitter getOrderFeed(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return orderFeedService.subscribe(lastEventId);
+    }
+
     /**
      * Retrieves a specific order by its ID.
      * @param id The ID of the order to retrieve.
@@ -54,17 +134,20 @@ public class OrderController {
     /**
      * Creates a new order.
      * Validates the request body. If validation fails, returns a list of errors with HTTP status BAD_REQUEST.
+     * Retries carrying the same {@code Idempotency-Key} header get the original response back instead of creating a duplicate.
      * @param order The order to create.
      * @param bindingResult Container for validation results.
+     * @param idempotencyKey Optional client-generated key identifying this submission across retries.
      * @return A ResponseEntity containing the created order and HTTP status CREATED,
      * or a list of validation errors and HTTP status BAD_REQUEST.
      */
     @PostMapping()
-    public ResponseEntity<?> createOrder(@Valid @RequestBody Order order, BindingResult bindingResult) {
+    public ResponseEntity<?> createOrder(@Valid @RequestBody Order order, BindingResult bindingResult,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         if (bindingResult.hasErrors()) {
             return ResponseEntity.badRequest().body(ValidationUtils.getValidationErrors(bindingResult));
         }
-        return orderService.createOrder(order);
+        return orderIntakePipeline.submit(order, idempotencyKey);
     }
 
     /**
@@ -85,6 +168,52 @@ public class OrderController {
         return orderService.editOrderById(id, order);
     }
 
+    /**
+     * Partially updates an order with a JSON Merge Patch. Only the fields present in the patch are changed.
+     * @param id The ID of the order to update.
+     * @param patch The merge patch.
+     * @return A ResponseEntity containing the updated order and HTTP status OK,
+     * HTTP status NOT_FOUND if the order does not exist,
+     * HTTP status CONFLICT if the patch carries a stale version,
+     * or HTTP status BAD_REQUEST if the patch is invalid.
+     */
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchOrderById(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return orderService.patchOrderById(id, patch);
+    }
+
+    /**
+     * Changes the status of an order, retrying on the server if a concurrent edit of the same order wins.
+     * @param id The ID of the order.
+     * @param orderStatusUpdateDTO DTO containing the new order status ID.
+     * @param bindingResult Container for validation results.
+     * @return A ResponseEntity containing the updated order and HTTP status OK,
+     * HTTP status NOT_FOUND if the order does not exist,
+     * or HTTP status BAD_REQUEST if the status is invalid.
+     */
+    @PutMapping("/{id}/status")
+    public ResponseEntity<?> updateOrderStatus(@PathVariable Long id, @Valid @RequestBody OrderStatusUpdateDTO orderStatusUpdateDTO, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(ValidationUtils.getValidationErrors(bindingResult));
+        }
+        return orderService.updateOrderStatus(id, orderStatusUpdateDTO.getOrderStatusId());
+    }
+
+    /**
+     * Moves many orders to the same status at once, e.g. marking the day's orders as completed at close-out.
+     * @param orderBulkStatusUpdateDTO DTO containing the order IDs and the target order status ID.
+     * @param bindingResult Container for validation results.
+     * @return A ResponseEntity containing the outcome for every requested order ID and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the request or the status is invalid.
+     */
+    @PutMapping("/status")
+    public ResponseEntity<?> updateOrderStatuses(@Valid @RequestBody OrderBulkStatusUpdateDTO orderBulkStatusUpdateDTO, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(ValidationUtils.getValidationErrors(bindingResult));
+        }
+        return orderService.updateOrderStatuses(orderBulkStatusUpdateDTO.getOrderIds(), orderBulkStatusUpdateDTO.getOrderStatusId());
+    }
+
     /**
      * Deletes a specific order by its ID.
      * @param id The ID of the order to delete.
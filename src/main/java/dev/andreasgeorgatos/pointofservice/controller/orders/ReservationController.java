@@ -0,0 +1,111 @@
+package dev.andreasgeorgatos.pointofservice.controller.orders;
+
+import dev.andreasgeorgatos.pointofservice.dto.reservations.ReservationCreateDTO;
+import dev.andreasgeorgatos.pointofservice.dto.reservations.ReservationStatusDTO;
+import dev.andreasgeorgatos.pointofservice.model.order.Reservation;
+import dev.andreasgeorgatos.pointofservice.service.order.ReservationService;
+import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for table reservations.
+ * Availability is answered from the in-memory reservation schedules without querying the database.
+ */
+@RestController
+@RequestMapping("/api/v1/reservations")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    /**
+     * Constructs a ReservationController with the necessary service.
+     * @param reservationService The service to handle reservation operations.
+     */
+    @Autowired
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    /**
+     * Finds the tables free for a time slot, e.g. a table for 4 at 20:00 for 90 minutes.
+     * @param startsAt The start of the slot (ISO date-time).
+     * @param durationMinutes The length of the slot; defaults to the configured reservation length.
+     * @param partySize The number of guests, if any.
+     * @return A ResponseEntity containing the free tables, smallest first, and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the duration is out of range.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailability(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startsAt,
+                                             @RequestParam(required = false) Integer durationMinutes,
+                                             @RequestParam(required = false) Integer partySize) {
+        return reservationService.getAvailability(startsAt, durationMinutes, partySize);
+    }
+
+    /**
+     * Retrieves the reservations overlapping a date range.
+     * @param from The first day (ISO format) to include; defaults to today.
+     * @param to The last day (ISO format) to include; defaults to {@code from}.
+     * @return A ResponseEntity containing the reservations and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the date range is invalid.
+     */
+    @GetMapping()
+    public ResponseEntity<?> getReservations(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return reservationService.getReservations(from, to);
+    }
+
+    /**
+     * Retrieves a specific reservation by its ID.
+     * @param id The ID of the reservation to retrieve.
+     * @return A ResponseEntity containing the reservation and HTTP status OK,
+     * or HTTP status NOT_FOUND if the reservation does not exist.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Reservation> getReservationById(@PathVariable Long id) {
+        return reservationService.getReservationById(id);
+    }
+
+    /**
+     * Books a table for a time slot.
+     * Validates the request body. If validation fails, returns a list of errors with HTTP status BAD_REQUEST.
+     * @param reservation The booking details.
+     * @param bindingResult Container for validation results.
+     * @return A ResponseEntity containing the created reservation and HTTP status OK,
+     * or HTTP status CONFLICT if no suitable table is free,
+     * or a list of validation errors and HTTP status BAD_REQUEST.
+     */
+    @PostMapping()
+    public ResponseEntity<?> createReservation(@Valid @RequestBody ReservationCreateDTO reservation, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(ValidationUtils.getValidationErrors(bindingResult));
+        }
+        return reservationService.createReservation(reservation);
+    }
+
+    /**
+     * Changes the status of a reservation, e.g. to seat, cancel or mark it as a no-show.
+     * Validates the request body. If validation fails, returns a list of errors with HTTP status BAD_REQUEST.
+     * @param id The ID of the reservation.
+     * @param statusDTO The new status.
+     * @param bindingResult Container for validation results.
+     * @return A ResponseEntity containing the updated reservation and HTTP status OK,
+     * or HTTP status NOT_FOUND if the reservation does not exist,
+     * or HTTP status CONFLICT if its slot is no longer free,
+     * or a list of validation errors and HTTP status BAD_REQUEST.
+     */
+    @PutMapping("/{id}/status")
+    public ResponseEntity<?> changeReservationStatus(@PathVariable Long id, @Valid @RequestBody ReservationStatusDTO statusDTO, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(ValidationUtils.getValidationErrors(bindingResult));
+        }
+        return reservationService.changeStatus(id, statusDTO.getStatus());
+    }
+}
@@ -7,10 +7,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -41,6 +43,19 @@ public class PaymentController {
         return paymentService.getAllPayments();
     }
 
+    /**
+     * Retrieves lightweight payment rows (ID, order ID, date, amount, status and method) for list views.
+     * @param from The first payment date (ISO format) to include; defaults to today.
+     * @param to The last payment date (ISO format) to include; defaults to {@code from}.
+     * @return A ResponseEntity containing the payment summaries and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the date range is invalid or longer than 31 days.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<?> getPaymentSummaries(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return paymentService.getPaymentSummaries(from, to);
+    }
+
     /**
      * Retrieves a specific payment by its ID.
      * @param id The ID of the payment to retrieve.
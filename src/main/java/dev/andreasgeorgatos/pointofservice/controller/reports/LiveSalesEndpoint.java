@@ -0,0 +1,42 @@
+package dev.andreasgeorgatos.pointofservice.controller.reports;
+
+import dev.andreasgeorgatos.pointofservice.dto.reports.LiveSalesDTO;
+import dev.andreasgeorgatos.pointofservice.service.reports.LiveSalesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/livesales}) exposing today's in-memory sales counters for the live dashboard.
+ */
+@Component
+@Endpoint(id = "livesales")
+public class LiveSalesEndpoint {
+
+    private final LiveSalesService liveSalesService;
+    private final int defaultTopItems;
+
+    /**
+     * Constructs a LiveSalesEndpoint with the necessary service.
+     * @param liveSalesService The service holding the live sales counters.
+     * @param defaultTopItems The number of best-selling items returned when the request does not specify one.
+     */
+    @Autowired
+    public LiveSalesEndpoint(LiveSalesService liveSalesService, @Value("${sales.live.top-items:10}") int defaultTopItems) {
+        this.liveSalesService = liveSalesService;
+        this.defaultTopItems = defaultTopItems;
+    }
+
+    /**
+     * Retrieves today's order count, revenue, per-category totals and best-selling items.
+     * @param top The number of best-selling items to include, if not the default.
+     * @return The current snapshot of the counters.
+     */
+    @ReadOperation
+    public LiveSalesDTO liveSales(@Nullable Integer top) {
+        return liveSalesService.getSnapshot(top != null ? top : defaultTopItems);
+    }
+}
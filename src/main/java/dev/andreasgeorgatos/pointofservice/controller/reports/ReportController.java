@@ -0,0 +1,101 @@
+package dev.andreasgeorgatos.pointofservice.controller.reports;
+
+import dev.andreasgeorgatos.pointofservice.service.reports.SalesAnalyticsService;
+import dev.andreasgeorgatos.pointofservice.service.reports.SalesRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for the sales reports.
+ * Reports are read from the daily rollup tables and the in-memory sales analytics instead of the order and payment tables.
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+public class ReportController {
+
+    private static final int MAX_RANKED_ITEMS = 100;
+
+    private final SalesRollupService salesRollupService;
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    /**
+     * Constructs a ReportController with the necessary services.
+     * @param salesRollupService The service maintaining and reading the daily sales rollups.
+     * @param salesAnalyticsService The service maintaining the best-seller and ordered-together counts.
+     */
+    @Autowired
+    public ReportController(SalesRollupService salesRollupService, SalesAnalyticsService salesAnalyticsService) {
+        this.salesRollupService = salesRollupService;
+        this.salesAnalyticsService = salesAnalyticsService;
+    }
+
+    /**
+     * Retrieves units sold and revenue per day, item and order type.
+     * @param from The first day (ISO format) to include; defaults to today.
+     * @param to The last day (ISO format) to include; defaults to {@code from}.
+     * @param orderTypeId The order type ID to filter by, if any.
+     * @return A ResponseEntity containing the report rows and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the date range is invalid.
+     */
+    @GetMapping("/daily-items")
+    public ResponseEntity<?> getDailyItemSales(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                               @RequestParam(required = false) Long orderTypeId) {
+        return salesRollupService.getItemSalesReport(from, to, orderTypeId);
+    }
+
+    /**
+     * Retrieves the number and sum of payments per day and payment method.
+     * @param from The first day (ISO format) to include; defaults to today.
+     * @param to The last day (ISO format) to include; defaults to {@code from}.
+     * @return A ResponseEntity containing the report rows and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the date range is invalid.
+     */
+    @GetMapping("/daily-payments")
+    public ResponseEntity<?> getDailyPaymentSales(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesRollupService.getPaymentSalesReport(from, to);
+    }
+
+    /**
+     * Rebuilds the daily rollups for a date range from the order and payment tables, including the archive.
+     * @param from The first day (ISO format) to rebuild.
+     * @param to The last day (ISO format) to rebuild.
+     * @return A ResponseEntity containing the number of rollup rows written and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the date range is invalid.
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<?> rebuildRollups(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesRollupService.rebuild(from, to);
+    }
+
+    /**
+     * Retrieves the best-selling items by units sold.
+     * @param period {@code today}, or {@code week} for the last seven days including today.
+     * @param limit The maximum number of items to return.
+     * @return A ResponseEntity containing the ranked items and HTTP status OK,
+     * or HTTP status BAD_REQUEST if the period is unknown.
+     */
+    @GetMapping("/top-sellers")
+    public ResponseEntity<?> getTopSellers(@RequestParam(defaultValue = "today") String period,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return salesAnalyticsService.getTopSellers(period, Math.min(Math.max(limit, 0), MAX_RANKED_ITEMS));
+    }
+
+    /**
+     * Retrieves the items most frequently ordered together with an item, for upselling.
+     * @param itemId The ID of the item.
+     * @param limit The maximum number of items to return.
+     * @return A ResponseEntity containing the ranked items with the number of orders shared with the item and HTTP status OK.
+     */
+    @GetMapping("/ordered-together/{itemId}")
+    public ResponseEntity<?> getOrderedTogether(@PathVariable long itemId,
+                                                @RequestParam(defaultValue = "5") int limit) {
+        return salesAnalyticsService.getOrderedTogether(itemId, Math.min(Math.max(limit, 0), MAX_RANKED_ITEMS));
+    }
+}
@@ -1,10 +1,13 @@
 package dev.andreasgeorgatos.pointofservice.controller.rewards;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import dev.andreasgeorgatos.pointofservice.model.rewards.MembershipCard;
 import dev.andreasgeorgatos.pointofservice.service.rewards.MembershipCardService;
+import dev.andreasgeorgatos.pointofservice.utils.JsonMergePatch;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
@@ -50,6 +53,11 @@ public class MembershipCardController {
         return membershipCardService.editMembershipCardById(id, membershipCard);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchMembershipCardById(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return membershipCardService.patchMembershipCardById(id, patch);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<MembershipCard> deleteMembershipCardById(@PathVariable Long id) {
         return membershipCardService.deleteMembershipCardById(id);
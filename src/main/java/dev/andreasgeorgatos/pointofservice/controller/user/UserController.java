@@ -1,14 +1,17 @@
 package dev.andreasgeorgatos.pointofservice.controller.user;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import dev.andreasgeorgatos.pointofservice.configuration.JWTUtil;
 import dev.andreasgeorgatos.pointofservice.dto.users.*;
 import dev.andreasgeorgatos.pointofservice.service.user.EmployeesService;
 import dev.andreasgeorgatos.pointofservice.service.user.POSUser;
 import dev.andreasgeorgatos.pointofservice.service.user.UserService;
+import dev.andreasgeorgatos.pointofservice.utils.JsonMergePatch;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -54,9 +57,9 @@ public class UserController {
 
         POSUser foundUser = (POSUser) userService.loadUserByUsername(credentialsDTO.getUserName());
         Map<String, Object> claims = userService.getClaims(foundUser);
-        String jwe = jwtUtil.generateJWE(foundUser.getUser().getEmail(), claims);
+        String token = jwtUtil.generateToken(foundUser.getUser().getEmail(), claims);
 
-        return ResponseEntity.ok().header("Authorization", "Bearer " + jwe).build();
+        return ResponseEntity.ok().header("Authorization", "Bearer " + token).build();
 
     }
 
@@ -76,9 +79,9 @@ public class UserController {
         POSUser foundUser = (POSUser) userService.loadUserByUsername(userDTO.getUserName());
 
         Map<String, Object> claims = userService.getClaims(foundUser);
-        String jwe = jwtUtil.generateJWE(userDTO.getEmail(), claims);
+        String token = jwtUtil.generateToken(userDTO.getEmail(), claims);
 
-        return ResponseEntity.ok().header("Authorization", "Bearer " + jwe).body(userDTO);
+        return ResponseEntity.ok().header("Authorization", "Bearer " + token).body(userDTO);
     }
 
     @PostMapping("/forgotPassword")
@@ -121,6 +124,14 @@ public class UserController {
         return userService.editUserDtoById(id, userDTO);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchUserById(@PathVariable Long id, @RequestBody JsonNode patch) {
+        if (!isUserValid(id)) {
+            return ResponseEntity.badRequest().body("Not the same users.");
+        }
+        return userService.patchUserById(id, patch);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@Valid @PathVariable Long id) {
         if (!isUserValid(id)) {
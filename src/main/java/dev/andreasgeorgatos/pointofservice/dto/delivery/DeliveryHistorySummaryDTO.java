@@ -0,0 +1,15 @@
+package dev.andreasgeorgatos.pointofservice.dto.delivery;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row of a delivery history list view, selected directly in SQL by {@code DeliveryHistoryRepository#findFirstSummaries}
+ * and {@code DeliveryHistoryRepository#findSummariesBefore}.
+ */
+public record DeliveryHistorySummaryDTO(long id,
+                                        String orderStatus,
+                                        LocalDateTime deliveryDate,
+                                        LocalDate updatedAt,
+                                        long orderCount) {
+}
@@ -0,0 +1,7 @@
+package dev.andreasgeorgatos.pointofservice.dto.items;
+
+/**
+ * A rejected row of a bulk item import. {@code line} is the 1-based line number in the uploaded file.
+ */
+public record ItemImportErrorDTO(long line, String message) {
+}
@@ -0,0 +1,22 @@
+package dev.andreasgeorgatos.pointofservice.dto.items;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ItemImportReportDTO {
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    private long rowsRejected;
+
+    /**
+     * The rejected rows, in file order. Only the first {@code items.import.max-reported-errors} are listed;
+     * {@code rowsRejected} always holds the full count.
+     */
+    private List<ItemImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,10 @@
+package dev.andreasgeorgatos.pointofservice.dto.items;
+
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+
+/**
+ * A menu search hit, ranked by {@code score}: exact word matches rank above prefix matches, which rank above
+ * fuzzy trigram matches, and matches in the item name rank above matches in the description.
+ */
+public record ItemSearchResultDTO(Item item, double score) {
+}
@@ -0,0 +1,21 @@
+package dev.andreasgeorgatos.pointofservice.dto.orders;
+
+import dev.andreasgeorgatos.pointofservice.enums.BulkUpdateOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class OrderBulkStatusResultDTO {
+
+    private long orderStatusId;
+
+    private int updated;
+
+    /**
+     * Outcome for every requested order ID, in request order.
+     */
+    private Map<Long, BulkUpdateOutcome> results;
+}
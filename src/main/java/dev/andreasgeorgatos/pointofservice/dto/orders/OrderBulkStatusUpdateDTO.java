@@ -0,0 +1,19 @@
+package dev.andreasgeorgatos.pointofservice.dto.orders;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OrderBulkStatusUpdateDTO {
+
+    @NotEmpty(message = "At least one order ID is required.")
+    @Size(max = 1000, message = "At most 1000 orders can be updated at once.")
+    private List<@NotNull(message = "Order IDs can't be null.") Long> orderIds;
+
+    @NotNull(message = "The order status ID is required.")
+    private Long orderStatusId;
+}
@@ -0,0 +1,23 @@
+package dev.andreasgeorgatos.pointofservice.dto.orders;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Compact payload pushed to kitchen displays over the order feed. Fields that do not apply to an event type are omitted.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderFeedEventDTO {
+
+    private Long orderId;
+    private LocalDate orderDate;
+    private Long orderStatusId;
+    private String orderStatus;
+    private Long orderTypeId;
+    private String orderType;
+    private List<String> items;
+}
@@ -0,0 +1,20 @@
+package dev.andreasgeorgatos.pointofservice.dto.orders;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OrderItemBatchCreateDTO {
+
+    @NotNull(message = "The order ID is required.")
+    private Long orderId;
+
+    @NotEmpty(message = "At least one line is required.")
+    @Size(max = 500, message = "At most 500 lines can be created at once.")
+    private List<@Valid @NotNull(message = "Lines can't be null.") OrderItemLineDTO> lines;
+}
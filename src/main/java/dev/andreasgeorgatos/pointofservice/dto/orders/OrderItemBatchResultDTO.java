@@ -0,0 +1,10 @@
+package dev.andreasgeorgatos.pointofservice.dto.orders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Result of a batch order item creation. {@code orderItemIds} are in the order of the submitted lines.
+ */
+public record OrderItemBatchResultDTO(long orderId, int created, LocalDate createdAt, List<Long> orderItemIds) {
+}
@@ -0,0 +1,15 @@
+package dev.andreasgeorgatos.pointofservice.dto.orders;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class OrderItemLineDTO {
+
+    @NotNull(message = "The item ID is required.")
+    private Long itemId;
+
+    @Min(value = 1, message = "The quantity must be at least 1.")
+    private int quantity = 1;
+}
@@ -0,0 +1,19 @@
+package dev.andreasgeorgatos.pointofservice.dto.orders;
+
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OrderPageDTO {
+
+    private List<Order> orders;
+
+    /**
+     * Opaque cursor for the next page, or {@code null} when this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,11 @@
+package dev.andreasgeorgatos.pointofservice.dto.orders;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class OrderStatusUpdateDTO {
+
+    @NotNull(message = "The order status ID is required.")
+    private Long orderStatusId;
+}
@@ -0,0 +1,18 @@
+package dev.andreasgeorgatos.pointofservice.dto.orders;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
+
+import java.time.LocalDate;
+
+/**
+ * Row of an order list view, selected directly in SQL by {@code OrderRepository#findSummariesByOrderDateBetween}
+ * so no {@code Order}, {@code Item} or status entities are loaded.
+ */
+public record OrderSummaryDTO(long id,
+                              LocalDate orderDate,
+                              String orderStatus,
+                              String orderType,
+                              @JsonSerialize(using = MoneyJsonSerializer.class) long orderTotal,
+                              long itemCount) {
+}
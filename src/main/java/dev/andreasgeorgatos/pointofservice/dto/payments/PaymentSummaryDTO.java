@@ -0,0 +1,17 @@
+package dev.andreasgeorgatos.pointofservice.dto.payments;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a payment list view, selected directly in SQL by {@code PaymentRepository#findSummariesByPaymentDateRange}.
+ */
+public record PaymentSummaryDTO(Long id,
+                                Long orderId,
+                                LocalDateTime paymentDate,
+                                @JsonSerialize(using = MoneyJsonSerializer.class) long amount,
+                                String paymentStatus,
+                                String paymentMethod) {
+}
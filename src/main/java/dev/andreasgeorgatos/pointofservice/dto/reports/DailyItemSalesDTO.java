@@ -0,0 +1,13 @@
+package dev.andreasgeorgatos.pointofservice.dto.reports;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
+
+import java.time.LocalDate;
+
+public record DailyItemSalesDTO(LocalDate salesDate,
+                                long itemId,
+                                long orderTypeId,
+                                long quantity,
+                                @JsonSerialize(using = MoneyJsonSerializer.class) long revenue) {
+}
@@ -0,0 +1,12 @@
+package dev.andreasgeorgatos.pointofservice.dto.reports;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
+
+import java.time.LocalDate;
+
+public record DailyPaymentSalesDTO(LocalDate salesDate,
+                                   long paymentMethodId,
+                                   long paymentCount,
+                                   @JsonSerialize(using = MoneyJsonSerializer.class) long amount) {
+}
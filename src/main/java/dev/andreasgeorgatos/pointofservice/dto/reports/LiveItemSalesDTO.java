@@ -0,0 +1,10 @@
+package dev.andreasgeorgatos.pointofservice.dto.reports;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
+
+public record LiveItemSalesDTO(long itemId,
+                               String itemName,
+                               long quantity,
+                               @JsonSerialize(using = MoneyJsonSerializer.class) long revenue) {
+}
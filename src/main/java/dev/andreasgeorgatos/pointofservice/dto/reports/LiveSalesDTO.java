@@ -0,0 +1,14 @@
+package dev.andreasgeorgatos.pointofservice.dto.reports;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record LiveSalesDTO(LocalDate date,
+                           long orderCount,
+                           @JsonSerialize(using = MoneyJsonSerializer.class) long revenue,
+                           List<LiveCategorySalesDTO> categories,
+                           List<LiveItemSalesDTO> topItems) {
+}
@@ -0,0 +1,6 @@
+package dev.andreasgeorgatos.pointofservice.dto.reports;
+
+public record RankedItemDTO(long itemId,
+                            String itemName,
+                            long count) {
+}
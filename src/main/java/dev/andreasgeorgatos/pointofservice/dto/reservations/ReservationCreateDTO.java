@@ -0,0 +1,39 @@
+package dev.andreasgeorgatos.pointofservice.dto.reservations;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ReservationCreateDTO {
+
+    // Without a table ID the smallest free table that seats the party is booked.
+    private Long tableId;
+
+    @NotBlank(message = "The customer name is required.")
+    @Size(max = 100, message = "The customer name can be at most 100 characters.")
+    private String customerName;
+
+    @Size(max = 20, message = "The phone number can be at most 20 characters.")
+    private String phoneNumber;
+
+    @NotNull(message = "The party size is required.")
+    @Min(value = 1, message = "The party size must be at least 1.")
+    private Integer partySize;
+
+    @NotNull(message = "The start time is required.")
+    private LocalDateTime startsAt;
+
+    // Defaults to reservations.default-duration-minutes.
+    @Min(value = 15, message = "A reservation lasts at least 15 minutes.")
+    @Max(value = 480, message = "A reservation lasts at most 480 minutes.")
+    private Integer durationMinutes;
+
+    @Size(max = 500, message = "The notes can be at most 500 characters.")
+    private String notes;
+}
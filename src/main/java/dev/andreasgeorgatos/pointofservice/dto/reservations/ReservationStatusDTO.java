@@ -0,0 +1,12 @@
+package dev.andreasgeorgatos.pointofservice.dto.reservations;
+
+import dev.andreasgeorgatos.pointofservice.enums.ReservationStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ReservationStatusDTO {
+
+    @NotNull(message = "The status is required.")
+    private ReservationStatus status;
+}
@@ -0,0 +1,7 @@
+package dev.andreasgeorgatos.pointofservice.dto.tables;
+
+import java.util.List;
+
+public record FloorPlanUpdateDTO(List<TableStateDTO> tables,
+                                 List<Integer> removedTables) {
+}
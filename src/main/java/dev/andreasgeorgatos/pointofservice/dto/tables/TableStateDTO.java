@@ -0,0 +1,16 @@
+package dev.andreasgeorgatos.pointofservice.dto.tables;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import dev.andreasgeorgatos.pointofservice.enums.TableStatus;
+
+import java.time.LocalDate;
+
+public record TableStateDTO(long tableId,
+                            int tableNumber,
+                            Integer seats,
+                            TableStatus status,
+                            Long serverId,
+                            String serverName,
+                            @JsonFormat(pattern = "yyyy-MM-dd") LocalDate updatedAt,
+                            long revision) {
+}
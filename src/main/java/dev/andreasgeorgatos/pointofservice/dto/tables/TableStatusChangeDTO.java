@@ -0,0 +1,14 @@
+package dev.andreasgeorgatos.pointofservice.dto.tables;
+
+import dev.andreasgeorgatos.pointofservice.enums.TableStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class TableStatusChangeDTO {
+    // When set, the change is only applied if the table still has this status.
+    private TableStatus expectedStatus;
+
+    @NotNull
+    private TableStatus status;
+}
@@ -2,6 +2,7 @@ package dev.andreasgeorgatos.pointofservice.enums;
 
 import lombok.Getter;
 
+// Persisted as a bitmask by ordinal: append new constants at the end and never reorder or remove existing ones.
 @Getter
 public enum Allergenes {
     GLUTEN("Gluten"),
@@ -0,0 +1,7 @@
+package dev.andreasgeorgatos.pointofservice.enums;
+
+public enum BulkUpdateOutcome {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND
+}
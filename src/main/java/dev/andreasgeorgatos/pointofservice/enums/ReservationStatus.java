@@ -0,0 +1,26 @@
+package dev.andreasgeorgatos.pointofservice.enums;
+
+public enum ReservationStatus {
+    BOOKED("Booked"),
+    SEATED("Seated"),
+    COMPLETED("Completed"),
+    CANCELLED("Cancelled"),
+    NO_SHOW("No_show");
+
+    private final String value;
+
+    ReservationStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Whether a reservation in this status still holds its table for its time slot.
+     */
+    public boolean holdsTable() {
+        return this == BOOKED || this == SEATED;
+    }
+}
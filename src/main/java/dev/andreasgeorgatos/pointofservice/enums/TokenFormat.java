@@ -0,0 +1,20 @@
+package dev.andreasgeorgatos.pointofservice.enums;
+
+/**
+ * The formats bearer tokens can be issued in, from the most to the least expensive to mint and verify.
+ */
+public enum TokenFormat {
+    /**
+     * JWE whose random content key is wrapped with AES-256 GCM ({@code A256GCMKW} + {@code A256GCM}).
+     */
+    WRAPPED_JWE,
+    /**
+     * JWE encrypted directly with the shared key ({@code dir} + {@code A256GCM}); one AES operation, no key wrap.
+     */
+    DIRECT_JWE,
+    /**
+     * JWS signed with HMAC SHA-256 ({@code HS256}). The claims are readable by the holder, only their integrity
+     * is protected.
+     */
+    SIGNED_JWS
+}
@@ -0,0 +1,25 @@
+package dev.andreasgeorgatos.pointofservice.event;
+
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import lombok.Getter;
+
+/**
+ * Application event published by {@code OrderService} whenever an order is created or its status changes.
+ * Listeners that must only react to committed data should use {@code @TransactionalEventListener}.
+ */
+@Getter
+public class OrderEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final Order order;
+
+    public OrderEvent(Type type, Order order) {
+        this.type = type;
+        this.order = order;
+    }
+}
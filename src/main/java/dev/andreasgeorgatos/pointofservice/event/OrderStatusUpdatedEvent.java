@@ -0,0 +1,17 @@
+package dev.andreasgeorgatos.pointofservice.event;
+
+import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
+import lombok.Getter;
+
+/**
+ * Application event published by {@code OrderStatusService} when an order status definition is created or renamed.
+ */
+@Getter
+public class OrderStatusUpdatedEvent {
+
+    private final OrderStatuses orderStatus;
+
+    public OrderStatusUpdatedEvent(OrderStatuses orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+}
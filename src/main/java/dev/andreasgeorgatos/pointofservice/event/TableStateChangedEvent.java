@@ -0,0 +1,21 @@
+package dev.andreasgeorgatos.pointofservice.event;
+
+import dev.andreasgeorgatos.pointofservice.dto.tables.TableStateDTO;
+import lombok.Getter;
+
+/**
+ * Application event published by {@code FloorBoardService} whenever a table on the floor board changes its status
+ * or server, is added, or is removed.
+ */
+@Getter
+public class TableStateChangedEvent {
+
+    private final int tableNumber;
+    // The new state of the table, or null if it was removed from the board.
+    private final TableStateDTO state;
+
+    public TableStateChangedEvent(int tableNumber, TableStateDTO state) {
+        this.tableNumber = tableNumber;
+        this.state = state;
+    }
+}
@@ -1,11 +1,18 @@
 package dev.andreasgeorgatos.pointofservice.exception;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
 import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.metamodel.EntityType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -21,6 +28,18 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final EntityManager entityManager;
+
+    /**
+     * Constructs the GlobalExceptionHandler.
+     *
+     * @param entityManager Entity manager, used to read the current state of an entity whose update lost an optimistic lock.
+     */
+    @Autowired
+    public GlobalExceptionHandler(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
     /**
      * Handles validation exceptions thrown when @Valid annotation is used.
      *
@@ -34,6 +53,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errors);
     }
 
+    /**
+     * Handles request bodies that cannot be read, e.g. malformed JSON or a euro amount with fractions of a cent.
+     *
+     * @param ex The exception raised while reading the request body
+     * @return A response entity with BAD_REQUEST status and a list holding the reason
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<List<String>> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        logger.warn("Unreadable request body: {}", ex.getMessage());
+        String reason = ex.getCause() instanceof JsonMappingException mappingException
+                ? mappingException.getOriginalMessage()
+                : "The request body could not be read.";
+        return ResponseEntity.badRequest().body(List.of(reason));
+    }
+
     /**
      * Handles exceptions when an entity is not found.
      *
@@ -46,6 +80,43 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    /**
+     * Handles optimistic locking failures, raised when an entity was modified by another request
+     * between being read and being written. Like the version checks of the edit endpoints, the response
+     * carries the current state of the entity, including its new version, so the client can merge and retry.
+     *
+     * @param ex The optimistic locking failure exception
+     * @return A response entity with CONFLICT status and the current entity, or a message asking the client
+     *         to reload and retry if the entity cannot be identified or no longer exists
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        logger.warn("Concurrent modification detected: {}", ex.getMessage());
+        Object current = findCurrentState(ex);
+        if (current != null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(current);
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("The resource was modified by another request. Please reload it and retry.");
+    }
+
+    private Object findCurrentState(OptimisticLockingFailureException ex) {
+        if (!(ex instanceof ObjectOptimisticLockingFailureException objectEx) || objectEx.getIdentifier() == null) {
+            return null;
+        }
+        try {
+            // The failed transaction has been rolled back and its persistence context cleared, so this reads the winning row.
+            for (EntityType<?> entityType : entityManager.getMetamodel().getEntities()) {
+                if (entityType.getJavaType().getName().equals(objectEx.getPersistentClassName())) {
+                    return entityManager.find(entityType.getJavaType(), objectEx.getIdentifier());
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not read the current state of {} with ID {}: {}", objectEx.getPersistentClassName(), objectEx.getIdentifier(), e.getMessage());
+        }
+        return null;
+    }
+
     /**
      * Fallback handler for any unhandled exceptions.
      *
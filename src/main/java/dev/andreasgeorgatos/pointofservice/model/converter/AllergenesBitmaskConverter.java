@@ -0,0 +1,15 @@
+package dev.andreasgeorgatos.pointofservice.model.converter;
+
+import dev.andreasgeorgatos.pointofservice.enums.Allergenes;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps an item's allergens onto a bitmask column.
+ */
+@Converter
+public class AllergenesBitmaskConverter extends EnumSetBitmaskConverter<Allergenes> {
+
+    public AllergenesBitmaskConverter() {
+        super(Allergenes.class);
+    }
+}
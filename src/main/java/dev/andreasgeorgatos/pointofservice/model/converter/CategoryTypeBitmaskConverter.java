@@ -0,0 +1,15 @@
+package dev.andreasgeorgatos.pointofservice.model.converter;
+
+import dev.andreasgeorgatos.pointofservice.enums.CategoryType;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps an item's categories onto a bitmask column.
+ */
+@Converter
+public class CategoryTypeBitmaskConverter extends EnumSetBitmaskConverter<CategoryType> {
+
+    public CategoryTypeBitmaskConverter() {
+        super(CategoryType.class);
+    }
+}
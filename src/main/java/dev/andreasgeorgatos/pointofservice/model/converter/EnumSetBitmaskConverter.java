@@ -0,0 +1,29 @@
+package dev.andreasgeorgatos.pointofservice.model.converter;
+
+import dev.andreasgeorgatos.pointofservice.utils.EnumBitmask;
+import jakarta.persistence.AttributeConverter;
+
+import java.util.Set;
+
+/**
+ * Maps a set of enum constants onto a {@code BIGINT} bitmask column, see {@link EnumBitmask}.
+ */
+public abstract class EnumSetBitmaskConverter<E extends Enum<E>> implements AttributeConverter<Set<E>, Long> {
+
+    private final Class<E> type;
+
+    protected EnumSetBitmaskConverter(Class<E> type) {
+        EnumBitmask.requireFits(type);
+        this.type = type;
+    }
+
+    @Override
+    public Long convertToDatabaseColumn(Set<E> values) {
+        return EnumBitmask.toMask(values);
+    }
+
+    @Override
+    public Set<E> convertToEntityAttribute(Long mask) {
+        return EnumBitmask.fromMask(mask == null ? 0 : mask, type);
+    }
+}
@@ -0,0 +1,24 @@
+package dev.andreasgeorgatos.pointofservice.model.converter;
+
+import dev.andreasgeorgatos.pointofservice.utils.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps an amount held in cents onto a {@code DECIMAL(x, 2)} euro column.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long cents) {
+        return cents == null ? null : Money.toEuros(cents);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal euros) {
+        return euros == null ? null : Money.toCents(euros);
+    }
+}
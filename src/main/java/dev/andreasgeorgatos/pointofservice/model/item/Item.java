@@ -1,14 +1,23 @@
 package dev.andreasgeorgatos.pointofservice.model.item;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import dev.andreasgeorgatos.pointofservice.enums.Allergenes;
 import dev.andreasgeorgatos.pointofservice.enums.CategoryType;
+import dev.andreasgeorgatos.pointofservice.model.converter.AllergenesBitmaskConverter;
+import dev.andreasgeorgatos.pointofservice.model.converter.CategoryTypeBitmaskConverter;
+import dev.andreasgeorgatos.pointofservice.model.converter.MoneyConverter;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonDeserializer;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Set;
 
 @Entity
 @Data
+@DynamicUpdate
 @Table(name = "foods")
 public class Item {
 
@@ -23,17 +32,22 @@ public class Item {
     @Column(name = "item_name", nullable = false, length = 100)
     private String itemName;
 
-    @Column(name = "category", nullable = false, length = 500)
+    @Column(name = "category_mask", nullable = false)
+    @Convert(converter = CategoryTypeBitmaskConverter.class)
     private Set<CategoryType> category;
 
     @Column(name = "item_description", nullable = false, length = 300)
     private String itemDescription;
 
-    @Column(name = "allergenes", length = 500)
+    @Column(name = "allergenes_mask", nullable = false)
+    @Convert(converter = AllergenesBitmaskConverter.class)
     private Set<Allergenes> allergenes;
 
-    @Column(name = "item_price", nullable = false, precision = 2)
-    private double itemPrice;
+    @Column(name = "item_price", nullable = false, precision = 10, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    @JsonDeserialize(using = MoneyJsonDeserializer.class)
+    private long itemPrice;
 
     @Column(name = "image")
     private String imageURI;
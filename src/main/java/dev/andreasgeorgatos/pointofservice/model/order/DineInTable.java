@@ -20,6 +20,9 @@ public class DineInTable {
     @Column(name = "table_number", unique = true)
     private int tableNumber;
 
+    @Column(name = "seats")
+    private Integer seats;
+
     @Column(name = "status")
     private TableStatus status;
 
@@ -30,4 +33,8 @@ public class DineInTable {
     @Column(name = "updated_at")
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate updatedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -1,10 +1,17 @@
 package dev.andreasgeorgatos.pointofservice.model.order;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.model.converter.MoneyConverter;
 import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonDeserializer;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 
@@ -13,11 +20,17 @@ import java.util.List;
 
 @Entity
 @Data
-@Table(name = "orders")
+@DynamicUpdate
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_date", columnList = "order_date"),
+        @Index(name = "idx_orders_status_date", columnList = "order_status_id, order_date"),
+        @Index(name = "idx_orders_type_date", columnList = "order_types_id, order_date")
+})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private long id;
 
@@ -32,9 +45,12 @@ public class Order {
     @JoinColumn(name = "order_types_id")
     private OrderType orderTypeId;
 
-    @Column(name = "order_total", nullable = false)
+    @Column(name = "order_total", nullable = false, precision = 12, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    @JsonDeserialize(using = MoneyJsonDeserializer.class)
     @PositiveOrZero(message = "The cost of the order can be only positive or zero.")
-    private Double orderTotal;
+    private long orderTotal;
 
     @ManyToMany
     @JoinTable(
@@ -42,8 +58,18 @@ public class Order {
             joinColumns = @JoinColumn(name = "order_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "item_id", referencedColumnName = "id")
     )
+    // Existing schemas get this column from db/order_items_position.sql, which numbers the current rows.
+    @OrderColumn(name = "position")
     @Fetch(FetchMode.JOIN)
     @Size(min = 1)
     private List<Item> items;
 
+    @JsonIgnore
+    @Column(name = "idempotency_key", unique = true, length = 64)
+    private String idempotencyKey;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
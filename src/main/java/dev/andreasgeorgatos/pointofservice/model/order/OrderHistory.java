@@ -9,7 +9,8 @@ import lombok.Data;
 public class OrderHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_history_seq")
+    @SequenceGenerator(name = "orders_history_seq", sequenceName = "orders_history_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private long id;
 
@@ -0,0 +1,53 @@
+package dev.andreasgeorgatos.pointofservice.model.order;
+
+import dev.andreasgeorgatos.pointofservice.enums.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking of a dine-in table for a time slot {@code [startsAt, endsAt)}. Maintained by {@code ReservationService}.
+ */
+@Entity
+@Data
+@Table(name = "reservations")
+public class Reservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private long id;
+
+    @Column(name = "table_id", nullable = false)
+    private long tableId;
+
+    @Column(name = "customer_name", nullable = false, length = 100)
+    private String customerName;
+
+    @Column(name = "phone_number", length = 20)
+    private String phoneNumber;
+
+    @Column(name = "party_size", nullable = false)
+    private int partySize;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at", nullable = false)
+    private LocalDateTime endsAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReservationStatus status;
+
+    @Column(name = "notes", length = 500)
+    private String notes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -1,10 +1,14 @@
 package dev.andreasgeorgatos.pointofservice.model.payment;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.model.converter.MoneyConverter;
 import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonDeserializer;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
 import jakarta.persistence.*;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 
@@ -23,8 +27,11 @@ public class Payment {
     @Column(name = "payment_date", nullable = false)
     private LocalDateTime paymentDate;
 
-    @Column(name = "amount", nullable = false)
-    private BigDecimal amount;
+    @Column(name = "amount", nullable = false, precision = 12, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    @JsonDeserialize(using = MoneyJsonDeserializer.class)
+    private long amount;
 
     @OneToOne
     @JoinColumn(name = "payment_status_id")
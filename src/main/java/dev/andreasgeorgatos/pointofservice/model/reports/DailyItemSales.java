@@ -0,0 +1,27 @@
+package dev.andreasgeorgatos.pointofservice.model.reports;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.model.converter.MoneyConverter;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Units sold and revenue per day, item and order type. Maintained by {@code SalesRollupService}.
+ */
+@Entity
+@Data
+@Table(name = "daily_item_sales")
+public class DailyItemSales {
+
+    @EmbeddedId
+    private DailyItemSalesId id;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    private long revenue;
+}
@@ -0,0 +1,26 @@
+package dev.andreasgeorgatos.pointofservice.model.reports;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyItemSalesId implements Serializable {
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "item_id", nullable = false)
+    private long itemId;
+
+    @Column(name = "order_type_id", nullable = false)
+    private long orderTypeId;
+}
@@ -0,0 +1,27 @@
+package dev.andreasgeorgatos.pointofservice.model.reports;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.andreasgeorgatos.pointofservice.model.converter.MoneyConverter;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Number and sum of payments per day and payment method. Maintained by {@code SalesRollupService}.
+ */
+@Entity
+@Data
+@Table(name = "daily_payment_sales")
+public class DailyPaymentSales {
+
+    @EmbeddedId
+    private DailyPaymentSalesId id;
+
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+
+    @Column(name = "amount", nullable = false, precision = 14, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    private long amount;
+}
@@ -1,16 +1,23 @@
 package dev.andreasgeorgatos.pointofservice.model.rewards;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import dev.andreasgeorgatos.pointofservice.enums.MembershipType;
+import dev.andreasgeorgatos.pointofservice.model.converter.MoneyConverter;
 import dev.andreasgeorgatos.pointofservice.model.user.User;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonDeserializer;
+import dev.andreasgeorgatos.pointofservice.utils.MoneyJsonSerializer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
 @Entity
 @Data
+@DynamicUpdate
 @Table(name = "cards")
 public class MembershipCard {
 
@@ -39,9 +46,12 @@ public class MembershipCard {
     @Column(name = "can_be_refreshed")
     private boolean canBeRefreshed;
 
-    @Column(name = "total_spent")
+    @Column(name = "total_spent", precision = 12, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    @JsonDeserialize(using = MoneyJsonDeserializer.class)
     @PositiveOrZero
-    private double totalSpent;
+    private long totalSpent;
 
     @Column(name = "referral_points")
     @PositiveOrZero
@@ -76,4 +86,8 @@ public class MembershipCard {
     @Column(name = "expiration_date", nullable = false)
     @NotNull(message = "The expiration date for the membership card is required.")
     private LocalDate expirationDate;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -1,9 +1,23 @@
 package dev.andreasgeorgatos.pointofservice.repository.delivery;
 
+import dev.andreasgeorgatos.pointofservice.dto.delivery.DeliveryHistorySummaryDTO;
 import dev.andreasgeorgatos.pointofservice.model.delivery.DeliveryHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface DeliveryHistoryRepository extends JpaRepository<DeliveryHistory, Long> {
+
+    @Query("SELECT new dev.andreasgeorgatos.pointofservice.dto.delivery.DeliveryHistorySummaryDTO(d.id, s.status, ds.deliveryDate, d.updatedAt, (SELECT COUNT(o) FROM d.orders o)) " +
+            "FROM DeliveryHistory d LEFT JOIN d.orderStatus s LEFT JOIN d.deliveryStatus ds ORDER BY d.id DESC")
+    List<DeliveryHistorySummaryDTO> findFirstSummaries(Pageable pageable);
+
+    @Query("SELECT new dev.andreasgeorgatos.pointofservice.dto.delivery.DeliveryHistorySummaryDTO(d.id, s.status, ds.deliveryDate, d.updatedAt, (SELECT COUNT(o) FROM d.orders o)) " +
+            "FROM DeliveryHistory d LEFT JOIN d.orderStatus s LEFT JOIN d.deliveryStatus ds WHERE d.id < :id ORDER BY d.id DESC")
+    List<DeliveryHistorySummaryDTO> findSummariesBefore(@Param("id") long id, Pageable pageable);
 }
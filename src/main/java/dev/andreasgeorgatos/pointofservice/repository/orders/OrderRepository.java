@@ -1,9 +1,77 @@
 package dev.andreasgeorgatos.pointofservice.repository.orders;
 
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderSummaryDTO;
 import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    // COMMIT flush mode keeps this lookup from flushing the other orders of a group commit one by one.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<Order> findByIdempotencyKey(String idempotencyKey);
+
+    @Query("SELECT o.id FROM Order o ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findFirstPageIds(Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.id < :id) ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findPageIdsAfter(@Param("orderDate") LocalDate orderDate, @Param("id") long id, Pageable pageable);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByOrderDate(LocalDate orderDate);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.orderDate BETWEEN :from AND :to ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findAllByOrderDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.orderDate BETWEEN :from AND :to AND o.orderStatusId.id = :statusId ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findAllByOrderDateBetweenAndStatus(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("statusId") long statusId);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.orderDate BETWEEN :from AND :to AND o.orderTypeId.id = :typeId ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findAllByOrderDateBetweenAndType(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("typeId") long typeId);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.orderDate BETWEEN :from AND :to AND o.orderStatusId.id = :statusId AND o.orderTypeId.id = :typeId ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findAllByOrderDateBetweenAndStatusAndType(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("statusId") long statusId, @Param("typeId") long typeId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items ORDER BY o.id")
+    Stream<Order> streamAllWithItems();
+
+    @Query("SELECT o.id, s.id, o.orderDate FROM Order o LEFT JOIN o.orderStatusId s WHERE o.id IN :ids")
+    List<Object[]> findStatusRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bumping the version makes concurrent edits of these orders fail their optimistic lock check.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.orderStatusId = :orderStatus, o.version = o.version + 1 WHERE o.id IN :ids")
+    int updateOrderStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("orderStatus") OrderStatuses orderStatus);
+
+    @Query("SELECT new dev.andreasgeorgatos.pointofservice.dto.orders.OrderSummaryDTO(o.id, o.orderDate, s.status, t.type, o.orderTotal, (SELECT COUNT(i) FROM o.items i)) " +
+            "FROM Order o LEFT JOIN o.orderStatusId s LEFT JOIN o.orderTypeId t WHERE o.orderDate BETWEEN :from AND :to ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderSummaryDTO> findSummariesByOrderDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT o.id FROM Order o JOIN o.orderStatusId s WHERE o.orderDate < :cutoff AND s.status IN :statuses " +
+            "AND NOT EXISTS (SELECT oi.id FROM OrderItem oi WHERE oi.order = o) " +
+            "AND NOT EXISTS (SELECT r.id FROM Review r WHERE r.orderId = o) " +
+            "AND NOT EXISTS (SELECT pt.id FROM PointsTransaction pt WHERE pt.orderId = o) " +
+            "AND NOT EXISTS (SELECT ds.id FROM DeliveryStatus ds WHERE ds.orderId = o) " +
+            "AND NOT EXISTS (SELECT dh.id FROM DeliveryHistory dh JOIN dh.orders dho WHERE dho = o) " +
+            "AND NOT EXISTS (SELECT u.id FROM User u JOIN u.orderList uo WHERE uo = o) " +
+            "ORDER BY o.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDate cutoff, @Param("statuses") Collection<String> statuses, Pageable pageable);
 }
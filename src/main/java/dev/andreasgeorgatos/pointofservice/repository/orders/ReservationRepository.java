@@ -0,0 +1,22 @@
+package dev.andreasgeorgatos.pointofservice.repository.orders;
+
+import dev.andreasgeorgatos.pointofservice.enums.ReservationStatus;
+import dev.andreasgeorgatos.pointofservice.model.order.Reservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    @Query("SELECT r FROM Reservation r WHERE r.endsAt > :from AND r.status IN :statuses")
+    List<Reservation> findEndingAfter(@Param("from") LocalDateTime from, @Param("statuses") Collection<ReservationStatus> statuses);
+
+    @Query("SELECT r FROM Reservation r WHERE r.startsAt < :to AND r.endsAt > :from ORDER BY r.startsAt, r.tableId")
+    List<Reservation> findOverlapping(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
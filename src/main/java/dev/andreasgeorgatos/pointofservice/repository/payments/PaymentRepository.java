@@ -1,9 +1,20 @@
 package dev.andreasgeorgatos.pointofservice.repository.payments;
 
+import dev.andreasgeorgatos.pointofservice.dto.payments.PaymentSummaryDTO;
 import dev.andreasgeorgatos.pointofservice.model.payment.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    @Query("SELECT new dev.andreasgeorgatos.pointofservice.dto.payments.PaymentSummaryDTO(p.id, o.id, p.paymentDate, p.amount, s.status, m.method) " +
+            "FROM Payment p LEFT JOIN p.order o LEFT JOIN p.paymentStatus s LEFT JOIN p.paymentMethod m " +
+            "WHERE p.paymentDate >= :from AND p.paymentDate < :to ORDER BY p.paymentDate DESC, p.id DESC")
+    List<PaymentSummaryDTO> findSummariesByPaymentDateRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
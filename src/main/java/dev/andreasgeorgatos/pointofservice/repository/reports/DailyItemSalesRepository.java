@@ -0,0 +1,29 @@
+package dev.andreasgeorgatos.pointofservice.repository.reports;
+
+import dev.andreasgeorgatos.pointofservice.dto.reports.DailyItemSalesDTO;
+import dev.andreasgeorgatos.pointofservice.model.reports.DailyItemSales;
+import dev.andreasgeorgatos.pointofservice.model.reports.DailyItemSalesId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyItemSalesRepository extends JpaRepository<DailyItemSales, DailyItemSalesId> {
+
+    @Query("SELECT new dev.andreasgeorgatos.pointofservice.dto.reports.DailyItemSalesDTO(s.id.salesDate, s.id.itemId, s.id.orderTypeId, s.quantity, s.revenue) " +
+            "FROM DailyItemSales s WHERE s.id.salesDate BETWEEN :from AND :to ORDER BY s.id.salesDate, s.id.itemId, s.id.orderTypeId")
+    List<DailyItemSalesDTO> findReport(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new dev.andreasgeorgatos.pointofservice.dto.reports.DailyItemSalesDTO(s.id.salesDate, s.id.itemId, s.id.orderTypeId, s.quantity, s.revenue) " +
+            "FROM DailyItemSales s WHERE s.id.salesDate BETWEEN :from AND :to AND s.id.orderTypeId = :orderTypeId ORDER BY s.id.salesDate, s.id.itemId")
+    List<DailyItemSalesDTO> findReportByOrderType(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("orderTypeId") long orderTypeId);
+
+    @Modifying
+    @Query("DELETE FROM DailyItemSales s WHERE s.id.salesDate BETWEEN :from AND :to")
+    int deleteBySalesDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,25 @@
+package dev.andreasgeorgatos.pointofservice.repository.reports;
+
+import dev.andreasgeorgatos.pointofservice.dto.reports.DailyPaymentSalesDTO;
+import dev.andreasgeorgatos.pointofservice.model.reports.DailyPaymentSales;
+import dev.andreasgeorgatos.pointofservice.model.reports.DailyPaymentSalesId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyPaymentSalesRepository extends JpaRepository<DailyPaymentSales, DailyPaymentSalesId> {
+
+    @Query("SELECT new dev.andreasgeorgatos.pointofservice.dto.reports.DailyPaymentSalesDTO(s.id.salesDate, s.id.paymentMethodId, s.paymentCount, s.amount) " +
+            "FROM DailyPaymentSales s WHERE s.id.salesDate BETWEEN :from AND :to ORDER BY s.id.salesDate, s.id.paymentMethodId")
+    List<DailyPaymentSalesDTO> findReport(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailyPaymentSales s WHERE s.id.salesDate BETWEEN :from AND :to")
+    int deleteBySalesDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,9 +1,17 @@
 package dev.andreasgeorgatos.pointofservice.repository.users;
 
 import dev.andreasgeorgatos.pointofservice.model.user.ServerAssignment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ServerAssignmentRepository extends JpaRepository<ServerAssignment, Long> {
+
+    @Query("SELECT a FROM ServerAssignment a WHERE a.tableId.id = :tableId ORDER BY a.assignmentDate DESC NULLS LAST, a.id DESC")
+    List<ServerAssignment> findLatestByTableId(@Param("tableId") long tableId, Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package dev.andreasgeorgatos.pointofservice.service.delivery;
 
+import dev.andreasgeorgatos.pointofservice.dto.delivery.DeliveryHistorySummaryDTO;
 import dev.andreasgeorgatos.pointofservice.model.delivery.DeliveryHistory;
 import dev.andreasgeorgatos.pointofservice.model.delivery.DeliveryStatus;
 import dev.andreasgeorgatos.pointofservice.model.order.Order;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus; 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -30,6 +32,9 @@ public class DeliveryHistoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(DeliveryHistoryService.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final DeliveryHistoryRepository deliveryHistoryRepository;
     private final OrderRepository orderRepository;
     private final DeliveryStatusRepository deliveryStatusRepository;
@@ -70,6 +75,27 @@ public class DeliveryHistoryService {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Retrieves one page of lightweight delivery history rows for list views: ID, order status name, delivery date,
+     * last update and number of orders. The rows are built by the database query itself, so no entities are loaded.
+     * Pages are keyed on the ID, newest first: pass the ID of the last row of a page to get the next one.
+     * This operation is read-only.
+     *
+     * @param beforeId The ID of the last row of the previous page, or {@code null} for the first page.
+     * @param size The requested page size. Values are clamped to the range 1..{@value #MAX_PAGE_SIZE}.
+     * @return A {@link ResponseEntity} containing the {@link DeliveryHistorySummaryDTO}s, newest first, and HTTP status OK.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<DeliveryHistorySummaryDTO>> getDeliveryHistorySummaries(Long beforeId, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        logger.info("Fetching delivery history summaries before ID {}, page size {}", beforeId, pageSize);
+        List<DeliveryHistorySummaryDTO> summaries = beforeId == null
+                ? deliveryHistoryRepository.findFirstSummaries(PageRequest.of(0, pageSize))
+                : deliveryHistoryRepository.findSummariesBefore(beforeId, PageRequest.of(0, pageSize));
+        logger.debug("Found {} delivery history summaries", summaries.size());
+        return ResponseEntity.ok(summaries);
+    }
+
     /**
      * Retrieves a specific delivery history record by its ID. This operation is read-only.
      *
@@ -0,0 +1,118 @@
+package dev.andreasgeorgatos.pointofservice.service.item;
+
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versioned in-memory catalog of {@link Item} rows used on the order path to price line items
+ * without a database round trip per item.
+ * <p>
+ * Every invalidation starts a new generation with an empty map. Rows loaded from the database are only
+ * ever added to the generation that was current when the lookup started, so a lookup racing with an
+ * invalidation can never leak a stale row into the newer generation.
+ */
+@Component
+public class ItemCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemCatalog.class);
+
+    private final ItemRepository itemRepository;
+
+    private volatile Generation current = new Generation(0);
+
+    /**
+     * Constructs an {@code ItemCatalog} backed by the given {@link ItemRepository}.
+     *
+     * @param itemRepository The repository used to load items missing from the catalog.
+     */
+    @Autowired
+    public ItemCatalog(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Resolves the given item IDs, loading every ID missing from the catalog with a single {@code IN} query.
+     *
+     * @param ids The item IDs to resolve. Duplicates are allowed.
+     * @return A map from item ID to {@link Item}. IDs that do not exist in the database are absent from the map.
+     */
+    public Map<Long, Item> resolve(Collection<Long> ids) {
+        Generation generation = current;
+        Map<Long, Item> resolved = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long id : ids) {
+            if (resolved.containsKey(id)) {
+                continue;
+            }
+            Item cached = generation.items.get(id);
+            if (cached != null) {
+                resolved.put(id, cached);
+            } else if (!missing.contains(id)) {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            logger.debug("Item catalog v{} miss for {} item(s), loading from the database", generation.version, missing.size());
+            for (Item item : itemRepository.findAllById(missing)) {
+                resolved.put(item.getId(), item);
+                generation.items.putIfAbsent(item.getId(), item);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the version of the current catalog generation. The version increases on every invalidation.
+     *
+     * @return The current catalog version.
+     */
+    public long getVersion() {
+        return current.version;
+    }
+
+    /**
+     * Discards every cached row. When called inside a transaction the catalog is invalidated again after commit,
+     * so that a concurrent lookup cannot cache the row as it was before the transaction committed.
+     */
+    public void invalidate() {
+        bumpGeneration();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpGeneration();
+                }
+            });
+        }
+    }
+
+    private synchronized void bumpGeneration() {
+        current = new Generation(current.version + 1);
+        logger.debug("Item catalog invalidated, now at v{}", current.version);
+    }
+
+    private static final class Generation {
+        private final long version;
+        private final Map<Long, Item> items = new ConcurrentHashMap<>();
+
+        private Generation(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package dev.andreasgeorgatos.pointofservice.service.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andreasgeorgatos.pointofservice.dto.items.ItemImportErrorDTO;
+import dev.andreasgeorgatos.pointofservice.dto.items.ItemImportReportDTO;
+import dev.andreasgeorgatos.pointofservice.enums.Allergenes;
+import dev.andreasgeorgatos.pointofservice.enums.CategoryType;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.utils.EnumBitmask;
+import dev.andreasgeorgatos.pointofservice.utils.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of menu items from CSV or NDJSON.
+ * <p>
+ * The upload is read line by line, so only one batch of rows is held in memory at a time. Every row is validated
+ * on its own; invalid rows are reported with their line number and skipped. Valid rows are upserted by
+ * {@code item_name} with one multi-row {@code INSERT ... ON DUPLICATE KEY UPDATE} per batch, each batch in its own
+ * transaction. This relies on a unique index on {@code foods.item_name}.
+ * <p>
+ * CSV files need a header row. Recognised columns are {@code itemName}, {@code itemDescription}, {@code itemPrice}
+ * (euros), {@code isVegan}, {@code category} and {@code allergenes}, the last two holding constant names separated
+ * by {@code |}, and the optional {@code imageURI}. Fields may be quoted, but must not span lines. NDJSON lines
+ * hold one item each, in the same JSON form accepted by {@code POST /api/v1/item}.
+ */
+@Service
+public class ItemImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemImportService.class);
+
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_DESCRIPTION_LENGTH = 300;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemCatalog itemCatalog;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final MenuSearchIndex menuSearchIndex;
+
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    /**
+     * Constructs an {@code ItemImportService}.
+     *
+     * @param entityManager Entity manager used for the native upserts.
+     * @param objectMapper Mapper used to read NDJSON rows.
+     * @param transactionManager Transaction manager used to run every batch in its own transaction.
+     * @param itemCatalog Item catalog, invalidated after an import.
+     * @param menuSnapshotCache Menu snapshot, invalidated after an import.
+     * @param menuSearchIndex Menu search index, rebuilt after an import.
+     * @param batchSize The number of rows upserted per statement and transaction.
+     * @param maxReportedErrors The number of rejected rows listed in the report.
+     */
+    @Autowired
+    public ItemImportService(EntityManager entityManager, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                             ItemCatalog itemCatalog, MenuSnapshotCache menuSnapshotCache, MenuSearchIndex menuSearchIndex,
+                             @Value("${items.import.batch-size:500}") int batchSize,
+                             @Value("${items.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.itemCatalog = itemCatalog;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.menuSearchIndex = menuSearchIndex;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports items from a CSV upload.
+     *
+     * @param body The request body.
+     * @return A {@link ResponseEntity} containing the import report and HTTP status OK,
+     *         or the report and HTTP status BAD_REQUEST if the header is missing or the upload could not be read.
+     */
+    public ResponseEntity<ItemImportReportDTO> importCsv(InputStream body) {
+        return importRows(body, true);
+    }
+
+    /**
+     * Imports items from an NDJSON upload.
+     *
+     * @param body The request body.
+     * @return A {@link ResponseEntity} containing the import report and HTTP status OK,
+     *         or the report and HTTP status BAD_REQUEST if the upload could not be read.
+     */
+    public ResponseEntity<ItemImportReportDTO> importNdjson(InputStream body) {
+        return importRows(body, false);
+    }
+
+    private ResponseEntity<ItemImportReportDTO> importRows(InputStream body, boolean csv) {
+        ItemImportReportDTO report = new ItemImportReportDTO();
+        List<Item> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        boolean readFailed = false;
+        long lineNumber = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> csvColumns = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && csvColumns == null) {
+                    try {
+                        csvColumns = readCsvHeader(line);
+                    } catch (IllegalArgumentException e) {
+                        csvColumns = Map.of();
+                    }
+                    if (!csvColumns.containsKey("itemname")) {
+                        reject(report, lineNumber, "The CSV header must contain an itemName column.");
+                        return ResponseEntity.badRequest().body(report);
+                    }
+                    continue;
+                }
+
+                report.setRowsRead(report.getRowsRead() + 1);
+                try {
+                    Item item = csv ? parseCsvRow(line, csvColumns) : parseJsonRow(line);
+                    validate(item);
+                    batch.add(item);
+                    batchLines.add(lineNumber);
+                } catch (IllegalArgumentException e) {
+                    reject(report, lineNumber, e.getMessage());
+                }
+
+                if (batch.size() >= batchSize) {
+                    flush(batch, batchLines, report);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Item import aborted at line {}: {}", lineNumber, e.getMessage());
+            reject(report, lineNumber + 1, "Could not read the upload: " + e.getMessage());
+            readFailed = true;
+        } finally {
+            // Rows read before a failure are still imported.
+            flush(batch, batchLines, report);
+            if (report.getRowsImported() > 0) {
+                itemCatalog.invalidate();
+                menuSnapshotCache.invalidate();
+                menuSearchIndex.rebuild();
+            }
+        }
+
+        logger.info("Item import finished: {} rows read, {} imported, {} rejected", report.getRowsRead(), report.getRowsImported(), report.getRowsRejected());
+        return readFailed ? ResponseEntity.badRequest().body(report) : ResponseEntity.ok(report);
+    }
+
+    private void flush(List<Item> batch, List<Long> batchLines, ItemImportReportDTO report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(batch));
+            report.setRowsImported(report.getRowsImported() + batch.size());
+        } catch (RuntimeException e) {
+            logger.warn("Item import batch of {} rows starting at line {} failed: {}", batch.size(), batchLines.get(0), e.getMessage());
+            for (Long line : batchLines) {
+                reject(report, line, "The batch containing this row could not be saved: " + e.getMessage());
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private void upsert(List<Item> items) {
+        StringBuilder sql = new StringBuilder("INSERT INTO foods (isVegan, item_name, category_mask, item_description, allergenes_mask, item_price, image) VALUES ");
+        for (int i = 0; i < items.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:vegan").append(i).append(", :name").append(i).append(", :category").append(i)
+                    .append(", :description").append(i).append(", :allergenes").append(i).append(", :price").append(i)
+                    .append(", :image").append(i).append(')');
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE isVegan = VALUES(isVegan), category_mask = VALUES(category_mask), item_description = VALUES(item_description), " +
+                "allergenes_mask = VALUES(allergenes_mask), item_price = VALUES(item_price), image = VALUES(image)");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            query.setParameter("vegan" + i, item.isVegan())
+                    .setParameter("name" + i, item.getItemName())
+                    .setParameter("category" + i, EnumBitmask.toMask(item.getCategory()))
+                    .setParameter("description" + i, item.getItemDescription())
+                    .setParameter("allergenes" + i, EnumBitmask.toMask(item.getAllergenes()))
+                    .setParameter("price" + i, Money.toEuros(item.getItemPrice()))
+                    .setParameter("image" + i, item.getImageURI());
+        }
+        query.executeUpdate();
+    }
+
+    private static void validate(Item item) {
+        if (item.getItemName() == null || item.getItemName().isBlank()) {
+            throw new IllegalArgumentException("itemName is required.");
+        }
+        if (item.getItemName().length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("itemName must be at most " + MAX_NAME_LENGTH + " characters.");
+        }
+        if (item.getItemDescription() == null || item.getItemDescription().isBlank()) {
+            throw new IllegalArgumentException("itemDescription is required.");
+        }
+        if (item.getItemDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("itemDescription must be at most " + MAX_DESCRIPTION_LENGTH + " characters.");
+        }
+        if (item.getItemPrice() < 0) {
+            throw new IllegalArgumentException("itemPrice must not be negative.");
+        }
+        if (item.getCategory() == null || item.getCategory().isEmpty()) {
+            throw new IllegalArgumentException("At least one category is required.");
+        }
+    }
+
+    private void reject(ItemImportReportDTO report, long line, String message) {
+        report.setRowsRejected(report.getRowsRejected() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ItemImportErrorDTO(line, message));
+        }
+    }
+
+    private Item parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, Item.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Map<String, Integer> readCsvHeader(String line) {
+        List<String> names = splitCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static Item parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsvLine(line);
+        Item item = new Item();
+        item.setItemName(field(fields, columns, "itemname"));
+        item.setItemDescription(field(fields, columns, "itemdescription"));
+        item.setImageURI(field(fields, columns, "imageuri"));
+        item.setVegan(Boolean.parseBoolean(field(fields, columns, "isvegan")));
+        item.setCategory(parseEnums(field(fields, columns, "category"), CategoryType.class));
+        item.setAllergenes(parseEnums(field(fields, columns, "allergenes"), Allergenes.class));
+
+        String price = field(fields, columns, "itemprice");
+        if (price == null) {
+            throw new IllegalArgumentException("itemPrice is required.");
+        }
+        try {
+            item.setItemPrice(Money.toCents(new BigDecimal(price)));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("itemPrice is not a valid amount: " + price);
+        }
+        return item;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <E extends Enum<E>> Set<E> parseEnums(String value, Class<E> type) {
+        Set<E> values = EnumSet.noneOf(type);
+        if (value == null) {
+            return values;
+        }
+        for (String name : value.split("\\|")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            try {
+                values.add(Enum.valueOf(type, name.trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown " + type.getSimpleName() + ": " + name.trim());
+            }
+        }
+        return values;
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
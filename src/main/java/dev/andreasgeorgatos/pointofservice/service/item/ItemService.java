@@ -1,14 +1,27 @@
 package dev.andreasgeorgatos.pointofservice.service.item;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andreasgeorgatos.pointofservice.dto.items.ItemSearchResultDTO;
+import dev.andreasgeorgatos.pointofservice.enums.Allergenes;
+import dev.andreasgeorgatos.pointofservice.enums.CategoryType;
 import dev.andreasgeorgatos.pointofservice.model.item.Item;
 import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
+import dev.andreasgeorgatos.pointofservice.utils.EnumBitmask;
+import dev.andreasgeorgatos.pointofservice.utils.JsonMergePatch;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class responsible for business logic related to items.
@@ -17,32 +30,139 @@ import java.util.Optional;
 @Service
 public class ItemService {
 
+    private static final List<String> PATCH_HANDLED_FIELDS = List.of("id");
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final ItemRepository itemRepository;
+    private final ItemCatalog itemCatalog;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final MenuSearchIndex menuSearchIndex;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructs an {@code ItemService} with the given {@link ItemRepository}.
      *
      * @param itemRepository The repository used for item data operations.
+     * @param itemCatalog The in-memory item catalog, invalidated whenever an item is created, edited or deleted.
+     * @param menuSnapshotCache The pre-serialized menu, invalidated together with the item catalog.
+     * @param menuSearchIndex The menu search index, updated with every created, edited or deleted item.
+     * @param objectMapper The mapper used to apply merge patches to items.
      */
     @Autowired
-    public ItemService(ItemRepository itemRepository) {
+    public ItemService(ItemRepository itemRepository, ItemCatalog itemCatalog, MenuSnapshotCache menuSnapshotCache, MenuSearchIndex menuSearchIndex, ObjectMapper objectMapper) {
         this.itemRepository = itemRepository;
+        this.itemCatalog = itemCatalog;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.menuSearchIndex = menuSearchIndex;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Retrieves all items from the database.
+     * Retrieves the full menu from the in-memory {@link MenuSnapshotCache}, without database access unless the menu
+     * changed since the last request. The response is gzipped when the client accepts it, and a client whose
+     * {@code If-None-Match} holds the current ETag gets HTTP status NOT_MODIFIED without a body.
      *
-     * @return A {@link ResponseEntity} containing a list of all items if found,
+     * @param ifNoneMatch The {@code If-None-Match} request header, or {@code null}.
+     * @param acceptEncoding The {@code Accept-Encoding} request header, or {@code null}.
+     * @return A {@link ResponseEntity} containing the serialized menu with its ETag,
+     *         a {@code notModified} status if the client's copy is current,
      *         or a {@code notFound} status if no items exist.
      */
-    public ResponseEntity<List<Item>> getAllItems() {
-        List<Item> items = itemRepository.findAll();
+    public ResponseEntity<byte[]> getAllItems(String ifNoneMatch, String acceptEncoding) {
+        MenuSnapshotCache.Snapshot snapshot = menuSnapshotCache.get();
 
-        if (items.isEmpty()) {
+        if (snapshot.empty()) {
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(items);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+
+        if (matchesEtag(ifNoneMatch, snapshot)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzippedJson());
+        }
+        return response.body(snapshot.json());
+    }
+
+    /**
+     * Retrieves the items matching a category, allergen and vegan filter. The filter is evaluated against the
+     * in-memory bitset index of the current menu snapshot, without database access.
+     *
+     * @param categories The categories an item must all belong to, or {@code null} for any.
+     * @param excludedAllergens The allergens an item must contain none of, or {@code null} for any.
+     * @param vegan {@code true} for vegan items only, {@code false} for non-vegan items only, or {@code null} for both.
+     * @return A {@link ResponseEntity} containing the matching items, possibly none.
+     */
+    public ResponseEntity<List<Item>> filterItems(Set<CategoryType> categories, Set<Allergenes> excludedAllergens, Boolean vegan) {
+        MenuFilterIndex index = menuSnapshotCache.get().filterIndex();
+        return ResponseEntity.ok(index.filter(EnumBitmask.toMask(categories), EnumBitmask.toMask(excludedAllergens), vegan));
+    }
+
+    /**
+     * Searches item names and descriptions in the in-memory {@link MenuSearchIndex}. Query words match whole words,
+     * word prefixes and, through trigrams, misspelt or partial words; every query word must match.
+     *
+     * @param query The search text.
+     * @param limit The maximum number of results, clamped to the range 1..{@value #MAX_SEARCH_RESULTS}.
+     * @return A {@link ResponseEntity} containing the ranked results,
+     *         or a {@code badRequest} status if the query is blank.
+     */
+    public ResponseEntity<?> searchItems(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return ResponseEntity.badRequest().body("A search query must be provided.");
+        }
+        List<ItemSearchResultDTO> results = menuSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        return ResponseEntity.ok(results);
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, MenuSnapshotCache.Snapshot snapshot) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        // If-None-Match uses the weak comparison, and both encodings of the same menu count as a match.
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(snapshot.etag()) || tag.equals(snapshot.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -69,10 +189,12 @@ public class ItemService {
     @Transactional
     public ResponseEntity<Item> createItem(Item item) {
         Item savedItem = itemRepository.save(item);
+        invalidateCaches();
 
         if (savedItem == null) {
             return ResponseEntity.internalServerError().build();
         }
+        menuSearchIndex.index(savedItem);
         // Note: The original code returns the input 'item', not 'savedItem'.
         // Javadoc reflects the actual behavior of returning the input item.
         return ResponseEntity.ok(item);
@@ -101,12 +223,47 @@ public class ItemService {
             oldItem.setItemPrice(item.getItemPrice());
 
             Item savedItem = itemRepository.save(oldItem);
+            invalidateCaches();
+            menuSearchIndex.index(savedItem);
 
             return ResponseEntity.ok(savedItem);
         }
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Applies a JSON Merge Patch to an item. Only the properties present in the patch are changed, and only the
+     * columns whose values actually differ are written.
+     *
+     * @param id The unique identifier of the item to be patched.
+     * @param patch The merge patch.
+     * @return A {@link ResponseEntity} containing the updated item if found and patched successfully,
+     *         a {@code notFound} status if the item does not exist,
+     *         or a {@code badRequest} status if the patch is malformed.
+     */
+    @Transactional
+    public ResponseEntity<?> patchItemById(long id, JsonNode patch) {
+        Optional<Item> optionalItem = itemRepository.findById(id);
+
+        if (optionalItem.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Item item = optionalItem.get();
+        try {
+            JsonMergePatch.apply(objectMapper, item, patch, PATCH_HANDLED_FIELDS);
+        } catch (IllegalArgumentException e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        Item savedItem = itemRepository.save(item);
+        invalidateCaches();
+        menuSearchIndex.index(savedItem);
+
+        return ResponseEntity.ok(savedItem);
+    }
+
     /**
      * Deletes an item identified by its unique identifier.
      *
@@ -120,9 +277,16 @@ public class ItemService {
 
         if (optionalItem.isPresent()) {
             itemRepository.deleteById(id);
+            invalidateCaches();
+            menuSearchIndex.delete(id);
 
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
+
+    private void invalidateCaches() {
+        itemCatalog.invalidate();
+        menuSnapshotCache.invalidate();
+    }
 }
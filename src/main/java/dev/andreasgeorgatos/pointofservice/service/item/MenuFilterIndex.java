@@ -0,0 +1,82 @@
+package dev.andreasgeorgatos.pointofservice.service.item;
+
+import dev.andreasgeorgatos.pointofservice.enums.Allergenes;
+import dev.andreasgeorgatos.pointofservice.enums.CategoryType;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable bitset index of the menu for category, allergen and vegan filters.
+ * <p>
+ * Items are numbered by their position in the menu. For every category, every allergen and for the vegan flag the
+ * index holds a {@code long[]} bitset with one bit per item, so a filter is evaluated 64 items at a time with
+ * plain {@code AND} / {@code AND NOT} over primitive words. Nothing but the result list is allocated.
+ */
+public final class MenuFilterIndex {
+
+    private final Item[] items;
+    private final long[] allBits;
+    private final long[] veganBits;
+    private final long[][] categoryBits;
+    private final long[][] allergenBits;
+
+    MenuFilterIndex(List<Item> menu) {
+        this.items = menu.toArray(new Item[0]);
+        int words = (items.length + Long.SIZE - 1) / Long.SIZE;
+        this.allBits = new long[words];
+        this.veganBits = new long[words];
+        this.categoryBits = new long[CategoryType.values().length][words];
+        this.allergenBits = new long[Allergenes.values().length][words];
+
+        for (int position = 0; position < items.length; position++) {
+            Item item = items[position];
+            int word = position / Long.SIZE;
+            long bit = 1L << (position % Long.SIZE);
+
+            allBits[word] |= bit;
+            if (item.isVegan()) {
+                veganBits[word] |= bit;
+            }
+            if (item.getCategory() != null) {
+                for (CategoryType category : item.getCategory()) {
+                    categoryBits[category.ordinal()][word] |= bit;
+                }
+            }
+            if (item.getAllergenes() != null) {
+                for (Allergenes allergen : item.getAllergenes()) {
+                    allergenBits[allergen.ordinal()][word] |= bit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the items matching a filter, in menu order.
+     *
+     * @param requiredCategories Bitmask of the categories an item must all belong to; {@code 0} for any.
+     * @param excludedAllergens Bitmask of the allergens an item must contain none of; {@code 0} for any.
+     * @param vegan {@code true} for vegan items only, {@code false} for non-vegan items only, {@code null} for both.
+     * @return The matching items.
+     */
+    public List<Item> filter(long requiredCategories, long excludedAllergens, Boolean vegan) {
+        List<Item> matches = new ArrayList<>();
+        for (int word = 0; word < allBits.length; word++) {
+            long candidates = allBits[word];
+            for (long remaining = requiredCategories; remaining != 0 && candidates != 0; remaining &= remaining - 1) {
+                candidates &= categoryBits[Long.numberOfTrailingZeros(remaining)][word];
+            }
+            for (long remaining = excludedAllergens; remaining != 0 && candidates != 0; remaining &= remaining - 1) {
+                candidates &= ~allergenBits[Long.numberOfTrailingZeros(remaining)][word];
+            }
+            if (vegan != null) {
+                candidates &= vegan ? veganBits[word] : ~veganBits[word];
+            }
+            for (; candidates != 0; candidates &= candidates - 1) {
+                matches.add(items[word * Long.SIZE + Long.numberOfTrailingZeros(candidates)]);
+            }
+        }
+        return matches;
+    }
+}
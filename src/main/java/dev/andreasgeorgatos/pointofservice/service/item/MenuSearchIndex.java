@@ -0,0 +1,296 @@
+package dev.andreasgeorgatos.pointofservice.service.item;
+
+import dev.andreasgeorgatos.pointofservice.dto.items.ItemSearchResultDTO;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over item names and descriptions, backing {@code GET /api/v1/item/search}.
+ * <p>
+ * Text is lower-cased, stripped of accents and split into words. Every word maps to the items containing it,
+ * held in a sorted dictionary so that a query word also matches every indexed word it is a prefix of. Every word
+ * is further split into trigrams, so that a query word that is misspelt or starts mid-word ("hick") still
+ * finds the words sharing most of its trigrams. All query words must match for an item to be returned.
+ * <p>
+ * The index is built from {@link ItemRepository} on startup and updated one item at a time after every committed
+ * item change.
+ */
+@Component
+public class MenuSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuSearchIndex.class);
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final int FIELD_NAME = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+
+    private static final double EXACT_NAME = 10;
+    private static final double EXACT_DESCRIPTION = 4;
+    private static final double PREFIX_NAME = 6;
+    private static final double PREFIX_DESCRIPTION = 2;
+    private static final double TRIGRAM_NAME = 4;
+    private static final double TRIGRAM_DESCRIPTION = 1.5;
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.5;
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Item> items = new HashMap<>();
+    private final Map<Long, Set<String>> itemWords = new HashMap<>();
+    // Word -> item ID -> the fields (FIELD_* bits) the word occurs in.
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> trigramWords = new HashMap<>();
+
+    /**
+     * Constructs a {@code MenuSearchIndex}.
+     *
+     * @param itemRepository The repository the index is built from on startup.
+     */
+    @Autowired
+    public MenuSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Builds the index from every item in the database.
+     */
+    @PostConstruct
+    public void rebuild() {
+        List<Item> menu = itemRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            items.clear();
+            itemWords.clear();
+            postings.clear();
+            trigramWords.clear();
+            for (Item item : menu) {
+                add(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Menu search index built: {} items, {} words", menu.size(), postings.size());
+    }
+
+    /**
+     * Adds an item to the index or replaces its previous entry. Inside a transaction this happens after commit.
+     *
+     * @param item The created or edited item.
+     */
+    public void index(Item item) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(item.getId());
+                add(item);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes an item from the index. Inside a transaction this happens after commit.
+     *
+     * @param id The ID of the deleted item.
+     */
+    public void delete(long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Searches the menu.
+     *
+     * @param query The search text.
+     * @param limit The maximum number of results.
+     * @return The matching items, best match first.
+     */
+    public List<ItemSearchResultDTO> search(String query, int limit) {
+        List<String> queryWords = new ArrayList<>(new LinkedHashSet<>(words(query)));
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String queryWord : queryWords) {
+                Map<Long, Double> wordScores = score(queryWord);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((id, score) -> score + wordScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<ItemSearchResultDTO> results = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                results.add(new ItemSearchResultDTO(items.get(entry.getKey()), entry.getValue()));
+            }
+            results.sort(Comparator.comparingDouble(ItemSearchResultDTO::score).reversed()
+                    .thenComparing(result -> result.item().getItemName(), Comparator.nullsLast(Comparator.naturalOrder())));
+            return results.size() > limit ? results.subList(0, limit) : results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every item matching one query word, keeping the best match per item.
+     */
+    private Map<Long, Double> score(String queryWord) {
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (Map.Entry<String, Map<Long, Integer>> entry : postings.subMap(queryWord, true, queryWord + Character.MAX_VALUE, false).entrySet()) {
+            boolean exact = entry.getKey().equals(queryWord);
+            addScores(scores, entry.getValue(), exact ? EXACT_NAME : PREFIX_NAME, exact ? EXACT_DESCRIPTION : PREFIX_DESCRIPTION);
+        }
+
+        Set<String> queryTrigrams = trigrams(queryWord);
+        if (!queryTrigrams.isEmpty()) {
+            Map<String, Integer> sharedTrigrams = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Set<String> words = trigramWords.get(trigram);
+                if (words != null) {
+                    for (String word : words) {
+                        sharedTrigrams.merge(word, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<String, Integer> entry : sharedTrigrams.entrySet()) {
+                double similarity = (double) entry.getValue() / queryTrigrams.size();
+                if (similarity >= MIN_TRIGRAM_SIMILARITY && !entry.getKey().startsWith(queryWord)) {
+                    addScores(scores, postings.get(entry.getKey()), TRIGRAM_NAME * similarity, TRIGRAM_DESCRIPTION * similarity);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void addScores(Map<Long, Double> scores, Map<Long, Integer> wordPostings, double nameScore, double descriptionScore) {
+        for (Map.Entry<Long, Integer> posting : wordPostings.entrySet()) {
+            double score = (posting.getValue() & FIELD_NAME) != 0 ? nameScore : descriptionScore;
+            scores.merge(posting.getKey(), score, Math::max);
+        }
+    }
+
+    private void add(Item item) {
+        Map<String, Integer> fields = new HashMap<>();
+        for (String word : words(item.getItemName())) {
+            fields.merge(word, FIELD_NAME, (a, b) -> a | b);
+        }
+        for (String word : words(item.getItemDescription())) {
+            fields.merge(word, FIELD_DESCRIPTION, (a, b) -> a | b);
+        }
+
+        items.put(item.getId(), item);
+        itemWords.put(item.getId(), fields.keySet());
+        for (Map.Entry<String, Integer> entry : fields.entrySet()) {
+            String word = entry.getKey();
+            Map<Long, Integer> wordPostings = postings.get(word);
+            if (wordPostings == null) {
+                wordPostings = new HashMap<>();
+                postings.put(word, wordPostings);
+                for (String trigram : trigrams(word)) {
+                    trigramWords.computeIfAbsent(trigram, key -> new HashSet<>()).add(word);
+                }
+            }
+            wordPostings.put(item.getId(), entry.getValue());
+        }
+    }
+
+    private void remove(long id) {
+        items.remove(id);
+        Set<String> words = itemWords.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Map<Long, Integer> wordPostings = postings.get(word);
+            wordPostings.remove(id);
+            if (wordPostings.isEmpty()) {
+                postings.remove(word);
+                for (String trigram : trigrams(word)) {
+                    Set<String> trigramSet = trigramWords.get(trigram);
+                    trigramSet.remove(word);
+                    if (trigramSet.isEmpty()) {
+                        trigramWords.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> trigrams(String word) {
+        if (word.length() < 3) {
+            return Set.of();
+        }
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            trigrams.add(word.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
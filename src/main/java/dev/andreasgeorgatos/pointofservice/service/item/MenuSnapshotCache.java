@@ -0,0 +1,135 @@
+package dev.andreasgeorgatos.pointofservice.service.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, pre-serialized snapshot of the full menu served by {@code GET /api/v1/item}, together with the
+ * {@link MenuFilterIndex} used by {@code GET /api/v1/item/filter}.
+ * <p>
+ * The menu is serialized and gzipped once per change instead of once per request, and carries a strong ETag
+ * derived from its content, so identical menus get identical ETags across restarts. Every invalidation bumps the
+ * generation; the next request rebuilds the snapshot and swaps it in only if no further invalidation happened in
+ * the meantime, so a rebuild racing with an item change can never publish the old menu as current.
+ */
+@Component
+public class MenuSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuSnapshotCache.class);
+
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructs a {@code MenuSnapshotCache}.
+     *
+     * @param itemRepository The repository the menu is loaded from.
+     * @param objectMapper The mapper used to serialize the menu, the same one used for regular responses.
+     */
+    @Autowired
+    public MenuSnapshotCache(ItemRepository itemRepository, ObjectMapper objectMapper) {
+        this.itemRepository = itemRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the current snapshot, building it first if the menu changed since the last one.
+     *
+     * @return The current menu snapshot.
+     */
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null && current.generation == generation.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long expectedGeneration = generation.get();
+            if (current != null && current.generation == expectedGeneration) {
+                return current;
+            }
+            Snapshot rebuilt = build(expectedGeneration);
+            if (generation.get() == expectedGeneration) {
+                snapshot = rebuilt;
+            }
+            return rebuilt;
+        }
+    }
+
+    /**
+     * Discards the current snapshot. When called inside a transaction the snapshot is discarded again after
+     * commit, so that a request rebuilding it concurrently cannot keep the menu as it was before the commit.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private Snapshot build(long generation) {
+        List<Item> items = itemRepository.findAll();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            byte[] gzipped = gzip(json);
+            String hash = Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(json));
+            logger.info("Menu snapshot rebuilt: {} items, {} bytes, {} bytes gzipped", items.size(), json.length, gzipped.length);
+            return new Snapshot(generation, items.isEmpty(), json, gzipped, '"' + hash + '"', "\"" + hash + "-gzip\"", new MenuFilterIndex(items));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the menu", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A serialized menu. The byte arrays are never modified after construction and must not be modified by callers.
+     *
+     * @param generation The invalidation generation the snapshot was built for.
+     * @param empty Whether the menu has no items.
+     * @param json The menu as JSON.
+     * @param gzippedJson The menu as gzipped JSON.
+     * @param etag The strong ETag of the identity-encoded representation.
+     * @param gzipEtag The strong ETag of the gzip-encoded representation.
+     * @param filterIndex The category, allergen and vegan index of the same menu.
+     */
+    public record Snapshot(long generation, boolean empty, byte[] json, byte[] gzippedJson, String etag, String gzipEtag, MenuFilterIndex filterIndex) {
+    }
+}
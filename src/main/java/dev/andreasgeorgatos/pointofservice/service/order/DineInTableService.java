@@ -1,5 +1,6 @@
 package dev.andreasgeorgatos.pointofservice.service.order;
 
+import dev.andreasgeorgatos.pointofservice.dto.tables.TableStateDTO;
 import dev.andreasgeorgatos.pointofservice.enums.TableStatus;
 import dev.andreasgeorgatos.pointofservice.model.order.DineInTable;
 import dev.andreasgeorgatos.pointofservice.repository.orders.DineInTableRepository;
@@ -7,6 +8,7 @@ import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -24,15 +26,21 @@ public class DineInTableService {
     private static final Logger logger = LoggerFactory.getLogger(DineInTableService.class);
 
     private final DineInTableRepository dineInTableRepository;
+    private final FloorBoardService floorBoardService;
+    private final ReservationService reservationService;
 
     /**
      * Constructs a {@code DineInTableService} with the specified {@link DineInTableRepository}.
      *
      * @param dineInTableRepository The repository for dine-in table data access.
+     * @param floorBoardService The in-memory floor board kept in step with created, edited and deleted tables.
+     * @param reservationService Reservations, checked before a table is deleted.
      */
     @Autowired
-    public DineInTableService(DineInTableRepository dineInTableRepository) {
+    public DineInTableService(DineInTableRepository dineInTableRepository, FloorBoardService floorBoardService, ReservationService reservationService) {
         this.dineInTableRepository = dineInTableRepository;
+        this.floorBoardService = floorBoardService;
+        this.reservationService = reservationService;
     }
 
     /**
@@ -97,7 +105,7 @@ public class DineInTableService {
      * The table status defaults to {@link TableStatus#AVAILABLE} if the provided status in {@code dineInTableDetails} is invalid or null.
      *
      * @param dineInTableDetails The {@link DineInTable} object containing the details for the new table.
-     *                           Only {@code tableNumber} and optionally {@code status} are used from this parameter.
+     *                           Only {@code tableNumber}, {@code seats} and optionally {@code status} are used from this parameter.
      * @return A {@link ResponseEntity} containing the created {@link DineInTable} and HTTP status OK.
      */
     @Transactional
@@ -117,7 +125,9 @@ public class DineInTableService {
         }
 
         table.setTableNumber(dineInTableDetails.getTableNumber());
+        table.setSeats(dineInTableDetails.getSeats());
         DineInTable savedTable = dineInTableRepository.save(table);
+        floorBoardService.put(savedTable, null, null);
         logger.info("Dine-in table created successfully with ID: {}", savedTable.getId());
         return ResponseEntity.ok(savedTable);
     }
@@ -125,11 +135,15 @@ public class DineInTableService {
    /**
     * Updates an existing dine-in table by its ID.
     * The {@code createdAt} field is not updated. The {@code updatedAt} field is set to the current date.
+    * If {@code dineInTableDetails} carries a {@code version} that does not match the stored one, the edit is rejected.
+    * Without a status in {@code dineInTableDetails} the table keeps its current status from the floor board, and
+    * without a seat count it keeps its current seats.
     *
     * @param id The ID of the dine-in table to edit.
     * @param dineInTableDetails The {@link DineInTable} object containing the new details for the table.
     * @return A {@link ResponseEntity} containing the updated {@link DineInTable} and HTTP status OK if successful,
-    *         or HTTP status NOT_FOUND if the table with the given ID does not exist.
+    *         HTTP status NOT_FOUND if the table with the given ID does not exist,
+    *         or HTTP status CONFLICT with the current {@link DineInTable} if the supplied version is stale.
     */
    @Transactional
    public ResponseEntity<DineInTable> editDineInTableById(long id, DineInTable dineInTableDetails) {
@@ -138,12 +152,27 @@ public class DineInTableService {
 
        if (optionalDineInTable.isPresent()) {
            DineInTable oldDineInTable = optionalDineInTable.get();
+           if (dineInTableDetails.getVersion() != null && !dineInTableDetails.getVersion().equals(oldDineInTable.getVersion())) {
+               logger.warn("Rejected edit of dine-in table ID: {} based on version {}, current version is {}", id, dineInTableDetails.getVersion(), oldDineInTable.getVersion());
+               return ResponseEntity.status(HttpStatus.CONFLICT).body(oldDineInTable);
+           }
+
+           int previousTableNumber = oldDineInTable.getTableNumber();
+           TableStateDTO boardState = floorBoardService.getTable(previousTableNumber).getBody();
+           TableStatus status = dineInTableDetails.getStatus();
+           if (status == null) {
+               status = boardState != null ? boardState.status() : oldDineInTable.getStatus();
+           }
 
            oldDineInTable.setTableNumber(dineInTableDetails.getTableNumber());
+           if (dineInTableDetails.getSeats() != null) {
+               oldDineInTable.setSeats(dineInTableDetails.getSeats());
+           }
            oldDineInTable.setUpdatedAt(LocalDate.now()); 
-           oldDineInTable.setStatus(dineInTableDetails.getStatus());
+           oldDineInTable.setStatus(status);
 
            DineInTable savedDineInTable = dineInTableRepository.save(oldDineInTable);
+           floorBoardService.put(savedDineInTable, previousTableNumber, boardState != null ? boardState.revision() : null);
            logger.info("Dine-in table with ID: {} updated successfully", savedDineInTable.getId());
            return ResponseEntity.ok(savedDineInTable);
        }
@@ -152,19 +181,26 @@ public class DineInTableService {
    }
 
     /**
-     * Deletes a dine-in table by its ID.
+     * Deletes a dine-in table by its ID. A table that still holds a booked or seated reservation which has not
+     * ended cannot be deleted; those reservations have to be cancelled or moved first.
      *
      * @param id The ID of the dine-in table to delete.
      * @return A {@link ResponseEntity} with HTTP status NO_CONTENT if deletion is successful,
-     *         or HTTP status NOT_FOUND if the table with the given ID does not exist.
+     *         HTTP status NOT_FOUND if the table with the given ID does not exist,
+     *         or HTTP status CONFLICT if the table has upcoming reservations.
      */
     @Transactional
-    public ResponseEntity<Void> deleteDineInTableById(long id) {
+    public ResponseEntity<?> deleteDineInTableById(long id) {
         logger.info("Deleting dine-in table with ID: {}", id);
         Optional<DineInTable> dineInTable = dineInTableRepository.findById(id);
 
         if (dineInTable.isPresent()) {
+            if (reservationService.hasUpcomingReservations(id)) {
+                logger.warn("Rejected deletion of dine-in table ID: {}, it has upcoming reservations", id);
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("The table has upcoming reservations, cancel them first.");
+            }
             dineInTableRepository.deleteById(id);
+            floorBoardService.remove(dineInTable.get().getTableNumber());
             logger.info("Dine-in table with ID: {} deleted successfully", id);
             return ResponseEntity.noContent().build();
         }
@@ -0,0 +1,420 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.dto.tables.TableStateDTO;
+import dev.andreasgeorgatos.pointofservice.enums.TableStatus;
+import dev.andreasgeorgatos.pointofservice.event.TableStateChangedEvent;
+import dev.andreasgeorgatos.pointofservice.model.order.DineInTable;
+import dev.andreasgeorgatos.pointofservice.model.user.ServerAssignment;
+import dev.andreasgeorgatos.pointofservice.model.user.User;
+import dev.andreasgeorgatos.pointofservice.repository.orders.DineInTableRepository;
+import dev.andreasgeorgatos.pointofservice.repository.users.ServerAssignmentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Authoritative in-memory floor board: the status and assigned server of every dine-in table, keyed by table number.
+ * <p>
+ * Every table holds an immutable {@link TableStateDTO} in an {@link AtomicReference}, and a status change is a
+ * single compare-and-set, so hosts and servers flipping tables never block each other and reading the board
+ * never touches the database. Changed tables are marked dirty and written behind in batches: every flush writes
+ * the latest status of each dirty table once, however often it flipped in between, with a single
+ * {@code UPDATE ... CASE} statement per batch. The {@code dine_table} rows therefore lag the board by up to one
+ * flush interval, and a crash loses at most that interval of status changes.
+ * <p>
+ * Creating, renumbering and deleting tables still goes through {@link DineInTableService}, and assigning servers
+ * through {@code ServerAssignmentService}; both keep the board in step after commit. Every change to the board is
+ * published as a {@link TableStateChangedEvent}.
+ */
+@Service
+public class FloorBoardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FloorBoardService.class);
+
+    private static final String TABLE = "dine_table";
+
+    private final DineInTableRepository dineInTableRepository;
+    private final ServerAssignmentRepository serverAssignmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushBatchSize;
+
+    private final Map<Integer, AtomicReference<TableStateDTO>> board = new ConcurrentHashMap<>();
+    private final Set<Integer> dirtyTables = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a {@code FloorBoardService}.
+     *
+     * @param dineInTableRepository Repository the board is loaded from on startup.
+     * @param serverAssignmentRepository Repository the assigned servers are loaded from.
+     * @param eventPublisher Publisher for the {@link TableStateChangedEvent}s.
+     * @param entityManager Entity manager used for the batched status updates.
+     * @param transactionManager Transaction manager used to run every flush in its own transaction.
+     * @param flushBatchSize How many tables are written per update statement.
+     */
+    @Autowired
+    public FloorBoardService(DineInTableRepository dineInTableRepository, ServerAssignmentRepository serverAssignmentRepository, ApplicationEventPublisher eventPublisher,
+                             EntityManager entityManager, PlatformTransactionManager transactionManager,
+                             @Value("${tables.board.flush-batch-size:200}") int flushBatchSize) {
+        this.dineInTableRepository = dineInTableRepository;
+        this.serverAssignmentRepository = serverAssignmentRepository;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+    }
+
+    /**
+     * Loads the board from the database. Runs before the web server accepts requests.
+     */
+    @PostConstruct
+    public void load() {
+        board.clear();
+        dirtyTables.clear();
+        Map<Long, ServerAssignment> latestAssignments = new HashMap<>();
+        for (ServerAssignment assignment : serverAssignmentRepository.findAll()) {
+            if (assignment.getTableId() != null) {
+                latestAssignments.merge(assignment.getTableId().getId(), assignment, (a, b) -> isLater(b, a) ? b : a);
+            }
+        }
+        List<DineInTable> tables = dineInTableRepository.findAll();
+        for (DineInTable table : tables) {
+            ServerAssignment assignment = latestAssignments.get(table.getId());
+            User server = assignment != null ? assignment.getUserId() : null;
+            board.put(table.getTableNumber(), new AtomicReference<>(toState(table, server != null ? server.getId() : null, serverName(server), 0)));
+        }
+        logger.info("Floor board loaded with {} tables", tables.size());
+    }
+
+    /**
+     * Returns the board, ordered by table number.
+     *
+     * @return A {@link ResponseEntity} containing the state of every table and HTTP status OK.
+     */
+    public ResponseEntity<List<TableStateDTO>> getBoard() {
+        List<TableStateDTO> states = new ArrayList<>(board.size());
+        for (AtomicReference<TableStateDTO> state : board.values()) {
+            states.add(state.get());
+        }
+        states.sort(Comparator.comparingInt(TableStateDTO::tableNumber));
+        return ResponseEntity.ok(states);
+    }
+
+    /**
+     * Returns the state of one table.
+     *
+     * @param tableNumber The table number.
+     * @return A {@link ResponseEntity} containing the state of the table and HTTP status OK,
+     *         or HTTP status NOT_FOUND if there is no such table.
+     */
+    public ResponseEntity<TableStateDTO> getTable(int tableNumber) {
+        AtomicReference<TableStateDTO> state = board.get(tableNumber);
+        if (state == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(state.get());
+    }
+
+    /**
+     * Returns the state of a table by its ID.
+     *
+     * @param tableId The ID of the table.
+     * @return The state of the table, or an empty {@link Optional} if there is no such table.
+     */
+    public Optional<TableStateDTO> getTableById(long tableId) {
+        AtomicReference<TableStateDTO> state = findByTableId(tableId);
+        return state == null ? Optional.empty() : Optional.of(state.get());
+    }
+
+    /**
+     * Changes the status of a table. With an expected status the change only happens if the table still has it,
+     * so two servers seating the same table cannot both succeed.
+     *
+     * @param tableNumber The table number.
+     * @param expectedStatus The status the table must currently have, or {@code null} to change it unconditionally.
+     * @param status The new status.
+     * @return A {@link ResponseEntity} containing the new state of the table and HTTP status OK,
+     *         HTTP status NOT_FOUND if there is no such table,
+     *         or HTTP status CONFLICT with the current state if the table does not have the expected status.
+     */
+    public ResponseEntity<TableStateDTO> changeStatus(int tableNumber, TableStatus expectedStatus, TableStatus status) {
+        AtomicReference<TableStateDTO> reference = board.get(tableNumber);
+        if (reference == null) {
+            logger.warn("Status change for unknown table number: {}", tableNumber);
+            return ResponseEntity.notFound().build();
+        }
+
+        while (true) {
+            TableStateDTO current = reference.get();
+            if (expectedStatus != null && current.status() != expectedStatus) {
+                logger.debug("Rejected status change of table {} from {} to {}, it is {}", tableNumber, expectedStatus, status, current.status());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(current);
+            }
+            if (current.status() == status) {
+                return ResponseEntity.ok(current);
+            }
+            TableStateDTO next = new TableStateDTO(current.tableId(), tableNumber, current.seats(), status, current.serverId(), current.serverName(), LocalDate.now(), current.revision() + 1);
+            if (reference.compareAndSet(current, next)) {
+                dirtyTables.add(tableNumber);
+                eventPublisher.publishEvent(new TableStateChangedEvent(tableNumber, next));
+                return ResponseEntity.ok(next);
+            }
+        }
+    }
+
+    /**
+     * Puts a created or edited table on the board, moving the entry under its previous number if it was
+     * renumbered. Inside a transaction this happens after commit.
+     * <p>
+     * If the table's status was flipped on the board after the edit read it, i.e. the board's revision moved past
+     * {@code readRevision}, the newer status on the board wins over the one saved with the edit, and the table is
+     * marked dirty so the next flush writes it over the saved row.
+     *
+     * @param table The saved table.
+     * @param previousTableNumber The number the table had before the edit, or {@code null} for a new table.
+     * @param readRevision The board revision the edit read the status at, or {@code null} if it read none.
+     */
+    public void put(DineInTable table, Integer previousTableNumber, Long readRevision) {
+        afterCommit(() -> {
+            int tableNumber = table.getTableNumber();
+            AtomicReference<TableStateDTO> reference = null;
+            if (previousTableNumber != null) {
+                if (previousTableNumber == tableNumber) {
+                    reference = board.get(tableNumber);
+                } else {
+                    // The same reference moves to the new number, so a flip racing with the move is not lost.
+                    reference = board.remove(previousTableNumber);
+                    dirtyTables.remove(previousTableNumber);
+                    eventPublisher.publishEvent(new TableStateChangedEvent(previousTableNumber, null));
+                    if (reference != null) {
+                        AtomicReference<TableStateDTO> existing = board.putIfAbsent(tableNumber, reference);
+                        if (existing != null) {
+                            reference = existing;
+                        }
+                    }
+                }
+            }
+            if (reference == null) {
+                AtomicReference<TableStateDTO> created = new AtomicReference<>(toState(table, null, null, 0));
+                AtomicReference<TableStateDTO> existing = board.putIfAbsent(tableNumber, created);
+                if (existing == null) {
+                    eventPublisher.publishEvent(new TableStateChangedEvent(tableNumber, created.get()));
+                    return;
+                }
+                reference = existing;
+            }
+
+            while (true) {
+                TableStateDTO current = reference.get();
+                boolean flippedSinceRead = readRevision != null && current.revision() != readRevision;
+                TableStateDTO saved = toState(table, current.serverId(), current.serverName(), current.revision() + 1);
+                TableStateDTO next = flippedSinceRead && current.status() != saved.status()
+                        ? new TableStateDTO(saved.tableId(), tableNumber, saved.seats(), current.status(), saved.serverId(), saved.serverName(), current.updatedAt(), saved.revision())
+                        : saved;
+                if (reference.compareAndSet(current, next)) {
+                    if (next.status() != saved.status()) {
+                        dirtyTables.add(tableNumber);
+                    }
+                    eventPublisher.publishEvent(new TableStateChangedEvent(tableNumber, next));
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Reloads the server assigned to a table, i.e. the one with the latest assignment. Inside a transaction this
+     * happens after commit.
+     *
+     * @param tableId The ID of the table whose assignments changed.
+     */
+    public void refreshServer(long tableId) {
+        afterCommit(() -> {
+            AtomicReference<TableStateDTO> reference = findByTableId(tableId);
+            if (reference == null) {
+                return;
+            }
+
+            List<ServerAssignment> latest = serverAssignmentRepository.findLatestByTableId(tableId, PageRequest.of(0, 1));
+            User server = latest.isEmpty() ? null : latest.get(0).getUserId();
+            Long serverId = server != null ? server.getId() : null;
+            String serverName = serverName(server);
+            while (true) {
+                TableStateDTO current = reference.get();
+                if (Objects.equals(current.serverId(), serverId) && Objects.equals(current.serverName(), serverName)) {
+                    return;
+                }
+                TableStateDTO next = new TableStateDTO(tableId, current.tableNumber(), current.seats(), current.status(), serverId, serverName, current.updatedAt(), current.revision() + 1);
+                if (reference.compareAndSet(current, next)) {
+                    eventPublisher.publishEvent(new TableStateChangedEvent(next.tableNumber(), next));
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Takes a table off the board. Inside a transaction this happens after commit.
+     *
+     * @param tableNumber The number of the deleted table.
+     */
+    public void remove(int tableNumber) {
+        afterCommit(() -> {
+            if (board.remove(tableNumber) != null) {
+                eventPublisher.publishEvent(new TableStateChangedEvent(tableNumber, null));
+            }
+            dirtyTables.remove(tableNumber);
+        });
+    }
+
+    /**
+     * Writes the latest status of every table changed since the last flush. Tables that fail to be written stay
+     * dirty and are retried with the next flush.
+     */
+    @Scheduled(fixedDelayString = "${tables.board.flush-interval-ms:2000}")
+    public void flush() {
+        if (dirtyTables.isEmpty()) {
+            return;
+        }
+
+        // A table is taken off the dirty set before its state is read, so a change racing with the flush marks it
+        // dirty again and is written next time.
+        List<TableStateDTO> states = new ArrayList<>();
+        for (Iterator<Integer> iterator = dirtyTables.iterator(); iterator.hasNext(); ) {
+            Integer tableNumber = iterator.next();
+            iterator.remove();
+            AtomicReference<TableStateDTO> state = board.get(tableNumber);
+            if (state != null) {
+                states.add(state.get());
+            }
+        }
+        if (states.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int start = 0; start < states.size(); start += flushBatchSize) {
+                    writeStatuses(states.subList(start, Math.min(start + flushBatchSize, states.size())));
+                }
+            });
+            logger.debug("Flushed the status of {} tables", states.size());
+        } catch (RuntimeException e) {
+            logger.warn("Could not flush the status of {} tables, retrying with the next flush: {}", states.size(), e.getMessage());
+            for (TableStateDTO state : states) {
+                dirtyTables.add(state.tableNumber());
+            }
+        }
+    }
+
+    /**
+     * Flushes the remaining status changes before shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Writes the status column only, leaving {@code version} alone, so a status flush never fails a concurrent
+     * edit of the table's other details.
+     */
+    private void writeStatuses(List<TableStateDTO> states) {
+        StringBuilder sql = new StringBuilder("UPDATE " + TABLE + " SET status = CASE id");
+        for (int i = 0; i < states.size(); i++) {
+            sql.append(" WHEN :id").append(i).append(" THEN :status").append(i);
+        }
+        sql.append(" ELSE status END, updated_at = :today WHERE id IN (:ids)");
+
+        Query update = entityManager.createNativeQuery(sql.toString());
+        update.unwrap(NativeQuery.class).addSynchronizedQuerySpace(TABLE);
+        List<Long> ids = new ArrayList<>(states.size());
+        for (int i = 0; i < states.size(); i++) {
+            TableStateDTO state = states.get(i);
+            // TableStatus is mapped without @Enumerated, so the column holds its ordinal.
+            update.setParameter("id" + i, state.tableId())
+                    .setParameter("status" + i, state.status().ordinal());
+            ids.add(state.tableId());
+        }
+        update.setParameter("today", LocalDate.now())
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    // A linear scan, as the board is keyed by table number and holds at most a few hundred tables.
+    private AtomicReference<TableStateDTO> findByTableId(long tableId) {
+        for (AtomicReference<TableStateDTO> state : board.values()) {
+            if (state.get().tableId() == tableId) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    private static TableStateDTO toState(DineInTable table, Long serverId, String serverName, long revision) {
+        TableStatus status = table.getStatus() != null ? table.getStatus() : TableStatus.AVAILABLE;
+        return new TableStateDTO(table.getId(), table.getTableNumber(), table.getSeats(), status, serverId, serverName, table.getUpdatedAt(), revision);
+    }
+
+    private static boolean isLater(ServerAssignment assignment, ServerAssignment other) {
+        LocalDate date = assignment.getAssignmentDate();
+        LocalDate otherDate = other.getAssignmentDate();
+        if (date != null && otherDate != null && !date.equals(otherDate)) {
+            return date.isAfter(otherDate);
+        }
+        if ((date == null) != (otherDate == null)) {
+            return date != null;
+        }
+        return assignment.getId() > other.getId();
+    }
+
+    private static String serverName(User server) {
+        if (server == null) {
+            return null;
+        }
+        return (Objects.toString(server.getFirstName(), "") + " " + Objects.toString(server.getLastName(), "")).trim();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.dto.tables.FloorPlanUpdateDTO;
+import dev.andreasgeorgatos.pointofservice.dto.tables.TableStateDTO;
+import dev.andreasgeorgatos.pointofservice.event.TableStateChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes the floor board to host stand tablets over Server-Sent Events.
+ * <p>
+ * A new connection first receives a {@code snapshot} event with every table. After that, table changes are
+ * collected for {@code tables.feed.coalesce-window-ms} and sent as one {@code delta} event holding only the latest
+ * state of each changed table and the numbers of removed tables, however often a table flipped within the window.
+ * Every table state carries a revision that only grows, so a client can ignore a state older than the one it has.
+ * Nothing is scheduled or sent while the floor is idle, and changes are not even collected while nobody is
+ * connected.
+ * <p>
+ * Connections are served by an {@link SseFanOut}, as with the kitchen feed: each has its own bounded buffer drained
+ * on a small shared executor, and a connection whose buffer overflows is closed; it gets a fresh snapshot when it
+ * reconnects. Every {@code tables.feed.heartbeat-interval-ms} each connection is sent a comment line, and a
+ * connection whose send has been blocked for {@code tables.feed.send-timeout-ms} is dropped and its executor thread
+ * interrupted.
+ */
+@Service
+public class FloorPlanFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FloorPlanFeedService.class);
+
+    private static final String EVENT_SNAPSHOT = "snapshot";
+    private static final String EVENT_DELTA = "delta";
+
+    private final FloorBoardService floorBoardService;
+    private final long coalesceWindowMs;
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "floor-plan-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final SseFanOut fanOut;
+
+    // Table number -> latest state, or null if removed; guarded by this.
+    private final Map<Integer, TableStateDTO> pendingChanges = new LinkedHashMap<>();
+    private boolean deltaScheduled;
+    private long lastEventId;
+
+    /**
+     * Constructs a {@code FloorPlanFeedService}.
+     *
+     * @param floorBoardService The floor board the snapshots are taken from.
+     * @param coalesceWindowMs How long, in milliseconds, changes are collected before a delta is sent.
+     * @param connectionBufferSize The number of undelivered events a single connection may hold before it is dropped.
+     * @param connectionTimeoutMs How long, in milliseconds, a connection stays open before the client has to reconnect.
+     * @param sendTimeoutMs How long, in milliseconds, a single send may block before the connection is dropped.
+     */
+    @Autowired
+    public FloorPlanFeedService(FloorBoardService floorBoardService,
+                                @Value("${tables.feed.coalesce-window-ms:250}") long coalesceWindowMs,
+                                @Value("${tables.feed.connection-buffer-size:64}") int connectionBufferSize,
+                                @Value("${tables.feed.connection-timeout-ms:1800000}") long connectionTimeoutMs,
+                                @Value("${tables.feed.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.floorBoardService = floorBoardService;
+        this.coalesceWindowMs = coalesceWindowMs;
+        this.fanOut = new SseFanOut("Floor plan", executor, connectionBufferSize, connectionTimeoutMs, sendTimeoutMs);
+    }
+
+    /**
+     * Opens a floor plan connection, starting with a snapshot of the whole board.
+     *
+     * @return The {@link SseEmitter} for the new connection.
+     */
+    public SseEmitter subscribe() {
+        SseFanOut.Subscriber subscriber = fanOut.newSubscriber();
+        SseEmitter emitter;
+        synchronized (this) {
+            // Taking the snapshot under the same lock as onTableStateChanged() means every change is either in the
+            // snapshot or in a later delta.
+            List<TableStateDTO> tables = floorBoardService.getBoard().getBody();
+            subscriber.offer(new SseFanOut.Event(lastEventId, EVENT_SNAPSHOT, new FloorPlanUpdateDTO(tables, List.of())));
+            emitter = fanOut.add(subscriber);
+        }
+        logger.info("Floor plan subscriber connected, {} subscribers", fanOut.size());
+        return emitter;
+    }
+
+    /**
+     * Collects a floor board change for the next delta.
+     *
+     * @param event The table change.
+     */
+    @EventListener
+    public synchronized void onTableStateChanged(TableStateChangedEvent event) {
+        if (fanOut.isEmpty()) {
+            return;
+        }
+        TableStateDTO state = event.getState();
+        TableStateDTO pending = pendingChanges.get(event.getTableNumber());
+        // Events for one table can arrive out of order from different threads; keep the newest state.
+        if (state != null && pending != null && pending.tableId() == state.tableId() && pending.revision() > state.revision()) {
+            return;
+        }
+        pendingChanges.put(event.getTableNumber(), state);
+
+        if (!deltaScheduled) {
+            try {
+                executor.schedule(this::publishDelta, coalesceWindowMs, TimeUnit.MILLISECONDS);
+                deltaScheduled = true;
+            } catch (RuntimeException e) {
+                logger.debug("Floor plan delta not scheduled: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Queues a heartbeat comment on every connection.
+     */
+    @Scheduled(fixedDelayString = "${tables.feed.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        fanOut.heartbeat();
+    }
+
+    /**
+     * Drops the connections whose current send has been blocked for longer than the send timeout.
+     */
+    @Scheduled(fixedDelayString = "${tables.feed.send-timeout-ms:5000}")
+    public void dropStalledSubscribers() {
+        fanOut.dropStalledSubscribers();
+    }
+
+    /**
+     * Shuts down the executor and closes every open connection.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        fanOut.completeAll();
+    }
+
+    private synchronized void publishDelta() {
+        deltaScheduled = false;
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+
+        List<TableStateDTO> tables = new ArrayList<>(pendingChanges.size());
+        List<Integer> removedTables = new ArrayList<>();
+        for (Map.Entry<Integer, TableStateDTO> entry : pendingChanges.entrySet()) {
+            if (entry.getValue() != null) {
+                tables.add(entry.getValue());
+            } else {
+                removedTables.add(entry.getKey());
+            }
+        }
+        pendingChanges.clear();
+
+        fanOut.broadcast(new SseFanOut.Event(++lastEventId, EVENT_DELTA, new FloorPlanUpdateDTO(tables, removedTables)));
+    }
+}
@@ -0,0 +1,263 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.model.converter.MoneyConverter;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderHistory;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
+import dev.andreasgeorgatos.pointofservice.model.payment.Payment;
+import dev.andreasgeorgatos.pointofservice.model.payment.PaymentMethod;
+import dev.andreasgeorgatos.pointofservice.model.payment.PaymentStatuses;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderRepository;
+import dev.andreasgeorgatos.pointofservice.service.item.ItemCatalog;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Moves closed, old orders out of the hot tables into archive tables, and reads them, their payments and their
+ * history records back for by-ID lookups.
+ * <p>
+ * An order is archived once its status is one of {@code orders.archive.closed-statuses} and its order date is
+ * older than {@code orders.archive.retention-days}. Orders still referenced by deliveries, reviews, points
+ * transactions, order item rows or users are left in place. Each chunk of orders is moved in its own
+ * transaction together with its {@code order_items}, {@code orders_history} and {@code payments} rows, so the
+ * job never holds locks for long and can be interrupted at any point without losing data.
+ * <p>
+ * The archive tables ({@code orders_archive}, {@code order_items_archive}, {@code orders_history_archive} and
+ * {@code payments_archive}) must have the same columns, in the same order, as their hot counterparts,
+ * e.g. {@code CREATE TABLE orders_archive LIKE orders}. Archiving is off unless {@code orders.archive.enabled}
+ * is set, and while it is off the archive tables are never queried, so they need not exist.
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private final OrderRepository orderRepository;
+    private final ItemCatalog itemCatalog;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransactionTemplate;
+
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final List<String> closedStatuses;
+
+    /**
+     * Constructs an {@code OrderArchiveService}.
+     *
+     * @param orderRepository Repository used to select the orders to archive.
+     * @param itemCatalog Catalog used to resolve the items of archived orders.
+     * @param entityManager Entity manager used for the native statements against the archive tables.
+     * @param transactionManager Transaction manager used to run every chunk in its own transaction.
+     * @param enabled Whether the scheduled archival runs and the archive tables are read.
+     * @param retentionDays How many days closed orders stay in the hot tables.
+     * @param chunkSize How many orders are moved per transaction.
+     * @param closedStatuses The order status names after which an order may be archived.
+     */
+    @Autowired
+    public OrderArchiveService(OrderRepository orderRepository, ItemCatalog itemCatalog, EntityManager entityManager, PlatformTransactionManager transactionManager,
+                               @Value("${orders.archive.enabled:false}") boolean enabled,
+                               @Value("${orders.archive.retention-days:90}") int retentionDays,
+                               @Value("${orders.archive.chunk-size:500}") int chunkSize,
+                               @Value("${orders.archive.closed-statuses:Completed,Cancelled}") List<String> closedStatuses) {
+        this.orderRepository = orderRepository;
+        this.itemCatalog = itemCatalog;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.closedStatuses = closedStatuses;
+    }
+
+    /**
+     * Scheduled archival run, monthly by default. A run can take long, so {@code spring.task.scheduling.pool.size}
+     * must leave threads for the other scheduled jobs, such as the floor board flush.
+     */
+    @Scheduled(cron = "${orders.archive.cron:0 0 3 1 * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        archiveOrdersBefore(LocalDate.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Archives every closed order placed before the given date, one chunk per transaction.
+     *
+     * @param cutoff Orders placed before this date are archived.
+     * @return The number of orders archived.
+     */
+    public int archiveOrdersBefore(LocalDate cutoff) {
+        logger.info("Archiving orders closed before {} in chunks of {}", cutoff, chunkSize);
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            logger.debug("Archived {} orders so far", archived);
+            if (moved < chunkSize) {
+                break;
+            }
+        }
+        logger.info("Archived {} orders placed before {}", archived, cutoff);
+        return archived;
+    }
+
+    private int archiveChunk(LocalDate cutoff) {
+        List<Long> ids = orderRepository.findArchivableIds(cutoff, closedStatuses, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        copy("orders", "id", ids);
+        copy("order_items", "order_id", ids);
+        copy("orders_history", "order_id", ids);
+        copy("payments", "order_id", ids);
+
+        // Children first, so foreign keys to orders never dangle.
+        delete("payments", "order_id", ids);
+        delete("orders_history", "order_id", ids);
+        delete("order_items", "order_id", ids);
+        delete("orders", "id", ids);
+        return ids.size();
+    }
+
+    private void copy(String table, String orderColumn, List<Long> ids) {
+        entityManager.createNativeQuery("INSERT INTO " + table + "_archive SELECT * FROM " + table + " WHERE " + orderColumn + " IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    private void delete(String table, String orderColumn, List<Long> ids) {
+        entityManager.createNativeQuery("DELETE FROM " + table + " WHERE " + orderColumn + " IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    /**
+     * Looks up an archived order by its ID. The returned order is detached and carries its items,
+     * resolved from the archived {@code order_items} rows.
+     *
+     * @param id The ID of the order.
+     * @return The archived order, or an empty {@link Optional} if it is not in the archive or archiving is disabled.
+     */
+    public Optional<Order> findArchivedOrder(long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return readTransactionTemplate.execute(status -> loadArchivedOrder(id));
+    }
+
+    /**
+     * Looks up an archived payment by its ID. The returned payment is detached and carries its archived order.
+     *
+     * @param id The ID of the payment.
+     * @return The archived payment, or an empty {@link Optional} if it is not in the archive or archiving is disabled.
+     */
+    public Optional<Payment> findArchivedPayment(long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return readTransactionTemplate.execute(status -> {
+            List<?> rows = entityManager.createNativeQuery("SELECT order_id, payment_date, amount, payment_status_id, payment_method_id FROM payments_archive WHERE id = :id")
+                    .setParameter("id", id)
+                    .getResultList();
+            if (rows.isEmpty()) {
+                return Optional.<Payment>empty();
+            }
+            Object[] row = (Object[]) rows.get(0);
+            Payment payment = new Payment();
+            payment.setId(id);
+            payment.setOrder(loadArchivedOrder(((Number) row[0]).longValue()).orElse(null));
+            payment.setPaymentDate(row[1] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[1]);
+            payment.setAmount(new MoneyConverter().convertToEntityAttribute((BigDecimal) row[2]));
+            if (row[3] != null) {
+                payment.setPaymentStatus(entityManager.find(PaymentStatuses.class, ((Number) row[3]).longValue()));
+            }
+            payment.setPaymentMethod(entityManager.find(PaymentMethod.class, ((Number) row[4]).longValue()));
+            logger.debug("Found payment ID: {} in the archive", id);
+            return Optional.of(payment);
+        });
+    }
+
+    /**
+     * Looks up an archived order history record by its ID. The returned record is detached and carries its
+     * archived order.
+     *
+     * @param id The ID of the order history record.
+     * @return The archived record, or an empty {@link Optional} if it is not in the archive or archiving is disabled.
+     */
+    public Optional<OrderHistory> findArchivedOrderHistory(long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return readTransactionTemplate.execute(status -> {
+            List<?> rows = entityManager.createNativeQuery("SELECT order_id, order_status_id FROM orders_history_archive WHERE id = :id")
+                    .setParameter("id", id)
+                    .getResultList();
+            if (rows.isEmpty()) {
+                return Optional.<OrderHistory>empty();
+            }
+            Object[] row = (Object[]) rows.get(0);
+            OrderHistory orderHistory = new OrderHistory();
+            orderHistory.setId(id);
+            orderHistory.setOrder(loadArchivedOrder(((Number) row[0]).longValue()).orElse(null));
+            orderHistory.setOrderStatus(entityManager.find(OrderStatuses.class, ((Number) row[1]).longValue()));
+            logger.debug("Found order history record ID: {} in the archive", id);
+            return Optional.of(orderHistory);
+        });
+    }
+
+    private Optional<Order> loadArchivedOrder(long id) {
+        List<?> rows = entityManager.createNativeQuery("SELECT * FROM orders_archive WHERE id = :id", Order.class)
+                .setParameter("id", id)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Order order = (Order) rows.get(0);
+        entityManager.detach(order);
+
+        List<Long> itemIds = new ArrayList<>();
+        for (Object itemId : entityManager.createNativeQuery("SELECT item_id FROM order_items_archive WHERE order_id = :id ORDER BY position")
+                .setParameter("id", id)
+                .getResultList()) {
+            itemIds.add(((Number) itemId).longValue());
+        }
+        Map<Long, Item> catalogItems = itemCatalog.resolve(itemIds);
+        List<Item> items = new ArrayList<>(itemIds.size());
+        for (Long itemId : itemIds) {
+            Item item = catalogItems.get(itemId);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        order.setItems(items);
+        logger.debug("Found order ID: {} in the archive", id);
+        return Optional.of(order);
+    }
+}
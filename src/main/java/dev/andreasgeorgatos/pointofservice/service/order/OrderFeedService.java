@@ -0,0 +1,207 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderFeedEventDTO;
+import dev.andreasgeorgatos.pointofservice.event.OrderEvent;
+import dev.andreasgeorgatos.pointofservice.event.OrderStatusUpdatedEvent;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes order creations and status changes to kitchen displays over Server-Sent Events.
+ * <p>
+ * Events are taken from committed transactions only. Each connection has its own bounded buffer that is drained on
+ * a small shared executor by an {@link SseFanOut}, so a slow display can never hold up the order path; a display whose buffer overflows is
+ * disconnected and catches up through {@code Last-Event-ID} replay when it reconnects. The last
+ * {@code orders.feed.replay-size} events are kept for that replay.
+ * <p>
+ * Every {@code orders.feed.heartbeat-interval-ms} each connection is sent a comment line, which keeps proxies from
+ * closing an idle stream and surfaces dead connections. A send that has not finished within
+ * {@code orders.feed.send-timeout-ms} gets the connection dropped and its dispatcher thread interrupted, so a
+ * client that stopped reading cannot hold one of the shared threads for long.
+ */
+@Service
+public class OrderFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderFeedService.class);
+
+    private static final String EVENT_ORDER_CREATED = "order-created";
+    private static final String EVENT_ORDER_STATUS_CHANGED = "order-status-changed";
+    private static final String EVENT_ORDER_STATUS_UPDATED = "order-status-updated";
+    private static final String EVENT_RESYNC = "resync";
+
+    private final int replaySize;
+
+    private final Queue<SseFanOut.Event> replayBuffer = new ArrayDeque<>();
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "order-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final SseFanOut fanOut;
+
+    private long lastEventId;
+
+    /**
+     * Constructs an {@code OrderFeedService}.
+     *
+     * @param replaySize The number of recent events kept for replay on reconnect.
+     * @param connectionBufferSize The number of undelivered events a single connection may hold before it is dropped.
+     * @param connectionTimeoutMs How long, in milliseconds, a connection stays open before the client has to reconnect.
+     * @param sendTimeoutMs How long, in milliseconds, a single send may block before the connection is dropped.
+     */
+    public OrderFeedService(@Value("${orders.feed.replay-size:1000}") int replaySize,
+                            @Value("${orders.feed.connection-buffer-size:256}") int connectionBufferSize,
+                            @Value("${orders.feed.connection-timeout-ms:1800000}") long connectionTimeoutMs,
+                            @Value("${orders.feed.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.replaySize = replaySize;
+        this.fanOut = new SseFanOut("Order feed", dispatcher, connectionBufferSize, connectionTimeoutMs, sendTimeoutMs);
+    }
+
+    /**
+     * Opens a feed connection. If the client sends the ID of the last event it received, every later event still
+     * held in the replay buffer is queued first; if that ID has already been evicted, a {@code resync} event tells
+     * the client to reload its orders through the REST API.
+     *
+     * @param lastEventId The value of the {@code Last-Event-ID} header, or {@code null} for a fresh connection.
+     * @return The {@link SseEmitter} for the new connection.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseFanOut.Subscriber subscriber = fanOut.newSubscriber();
+        SseEmitter emitter;
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                queueReplay(subscriber, lastEventId);
+            }
+            emitter = fanOut.add(subscriber);
+        }
+        logger.info("Order feed subscriber connected, last event ID: {}, {} subscribers", lastEventId, fanOut.size());
+        return emitter;
+    }
+
+    /**
+     * Publishes a committed order creation or status change to every connected display.
+     *
+     * @param event The order event.
+     */
+    @TransactionalEventListener
+    public void onOrderEvent(OrderEvent event) {
+        Order order = event.getOrder();
+        OrderFeedEventDTO payload = new OrderFeedEventDTO();
+        payload.setOrderId(order.getId());
+        payload.setOrderDate(order.getOrderDate());
+        if (order.getOrderStatusId() != null) {
+            payload.setOrderStatusId(order.getOrderStatusId().getId());
+            payload.setOrderStatus(order.getOrderStatusId().getStatus());
+        }
+
+        if (event.getType() == OrderEvent.Type.CREATED) {
+            if (order.getOrderTypeId() != null) {
+                payload.setOrderTypeId(order.getOrderTypeId().getId());
+                payload.setOrderType(order.getOrderTypeId().getType());
+            }
+            List<String> items = new ArrayList<>();
+            if (order.getItems() != null) {
+                for (Item item : order.getItems()) {
+                    items.add(item.getItemName());
+                }
+            }
+            payload.setItems(items);
+            publish(EVENT_ORDER_CREATED, payload);
+        } else {
+            publish(EVENT_ORDER_STATUS_CHANGED, payload);
+        }
+    }
+
+    /**
+     * Publishes a committed change to an order status definition, so displays can relabel their columns.
+     *
+     * @param event The order status event.
+     */
+    @TransactionalEventListener
+    public void onOrderStatusUpdated(OrderStatusUpdatedEvent event) {
+        OrderStatuses orderStatus = event.getOrderStatus();
+        OrderFeedEventDTO payload = new OrderFeedEventDTO();
+        payload.setOrderStatusId(orderStatus.getId());
+        payload.setOrderStatus(orderStatus.getStatus());
+        publish(EVENT_ORDER_STATUS_UPDATED, payload);
+    }
+
+    /**
+     * Queues a heartbeat comment on every connection.
+     */
+    @Scheduled(fixedDelayString = "${orders.feed.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        fanOut.heartbeat();
+    }
+
+    /**
+     * Drops the connections whose current send has been blocked for longer than the send timeout.
+     */
+    @Scheduled(fixedDelayString = "${orders.feed.send-timeout-ms:5000}")
+    public void dropStalledSubscribers() {
+        fanOut.dropStalledSubscribers();
+    }
+
+    /**
+     * Shuts down the dispatcher and closes every open connection.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        fanOut.completeAll();
+    }
+
+    private synchronized void publish(String name, OrderFeedEventDTO payload) {
+        // Fanning out under the same lock as subscribe() guarantees a new subscriber sees every event exactly once.
+        SseFanOut.Event event = new SseFanOut.Event(++lastEventId, name, payload);
+        replayBuffer.add(event);
+        if (replayBuffer.size() > replaySize) {
+            replayBuffer.poll();
+        }
+        fanOut.broadcast(event);
+    }
+
+    private void queueReplay(SseFanOut.Subscriber subscriber, String lastEventId) {
+        long lastSeen;
+        try {
+            lastSeen = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            subscriber.offer(resync());
+            return;
+        }
+
+        SseFanOut.Event oldest = replayBuffer.peek();
+        if (lastSeen > this.lastEventId || (oldest != null && lastSeen < oldest.id() - 1)) {
+            // The client missed events that are no longer buffered, or its ID comes from before a restart.
+            subscriber.offer(resync());
+            return;
+        }
+        for (SseFanOut.Event event : replayBuffer) {
+            if (event.id() > lastSeen && !subscriber.offer(event)) {
+                subscriber.clear();
+                subscriber.offer(resync());
+                return;
+            }
+        }
+    }
+
+    private SseFanOut.Event resync() {
+        return new SseFanOut.Event(lastEventId, EVENT_RESYNC, new OrderFeedEventDTO());
+    }
+}
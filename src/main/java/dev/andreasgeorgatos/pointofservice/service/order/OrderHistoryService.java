@@ -23,15 +23,18 @@ public class OrderHistoryService {
     private static final Logger logger = LoggerFactory.getLogger(OrderHistoryService.class); // Added logger
 
     private final OrderHistoryRepository orderHistoryRepository;
+    private final OrderArchiveService orderArchiveService;
 
     /**
      * Constructs an {@code OrderHistoryService} with the specified {@link OrderHistoryRepository}.
      *
      * @param orderHistoryRepository The repository for order history data access.
+     * @param orderArchiveService Service used to read history records of archived orders.
      */
     @Autowired
-    public OrderHistoryService(OrderHistoryRepository orderHistoryRepository) {
+    public OrderHistoryService(OrderHistoryRepository orderHistoryRepository, OrderArchiveService orderArchiveService) {
         this.orderHistoryRepository = orderHistoryRepository;
+        this.orderArchiveService = orderArchiveService;
     }
 
     /**
@@ -53,7 +56,7 @@ public class OrderHistoryService {
     }
 
     /**
-     * Retrieves a specific order history record by its ID.
+     * Retrieves a specific order history record by its ID. Records of archived orders are read from the archive tables.
      *
      * @param id The ID of the order history record to retrieve.
      * @return A {@link ResponseEntity} containing the {@link OrderHistory} if found and HTTP status OK,
@@ -62,6 +65,9 @@ public class OrderHistoryService {
     public ResponseEntity<OrderHistory> getOrderHistoryById(long id) {
         logger.info("Fetching order history record with ID: {}", id);
         Optional<OrderHistory> orderHistoryOptional = orderHistoryRepository.findById(id); // Renamed variable
+        if (orderHistoryOptional.isEmpty()) {
+            orderHistoryOptional = orderArchiveService.findArchivedOrderHistory(id);
+        }
 
         if (orderHistoryOptional.isPresent()) {
             logger.debug("Found order history record: {}", orderHistoryOptional.get());
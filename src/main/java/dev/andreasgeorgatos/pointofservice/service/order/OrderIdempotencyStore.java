@@ -0,0 +1,158 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-evicting store of the responses returned for {@code Idempotency-Key} order submissions.
+ * <p>
+ * Every entry lives for the same TTL, so insertion order is also expiry order: expired entries are
+ * trimmed from the head of the map, and the eldest entry is evicted once the store is full.
+ * <p>
+ * Responses are held as their status and serialized JSON body, taken when they are stored, so a replay never
+ * hands out an entity that has been changed or detached since.
+ */
+@Component
+public class OrderIdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyStore.class);
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final LinkedHashMap<String, StoredResponse> entries;
+
+    /**
+     * Constructs an {@code OrderIdempotencyStore}.
+     *
+     * @param objectMapper Mapper used to serialize the bodies of stored responses.
+     * @param maxEntries The maximum number of responses held at once.
+     * @param ttlMs How long, in milliseconds, a response is replayed for.
+     */
+    public OrderIdempotencyStore(ObjectMapper objectMapper,
+                                 @Value("${orders.idempotency.max-entries:10000}") int maxEntries,
+                                 @Value("${orders.idempotency.ttl-ms:86400000}") long ttlMs) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > OrderIdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Scopes a client-supplied idempotency key to the user who sent it, so one user's key can never replay
+     * another user's order. The result is a SHA-256 hex digest, which also fits the {@code idempotency_key}
+     * column whatever the length of the principal's name.
+     *
+     * @param principal The name of the authenticated user, or {@code null} for an anonymous submission.
+     * @param idempotencyKey The client-supplied {@code Idempotency-Key}.
+     * @return The key orders and responses are stored under.
+     */
+    public static String scopedKey(String principal, String idempotencyKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(principal).getBytes(StandardCharsets.UTF_8));
+            // A key sent as a header value cannot contain the separator, so the split is unambiguous.
+            digest.update((byte) '\n');
+            digest.update(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the response stored for the given key, if it has not expired.
+     *
+     * @param key The scoped idempotency key, see {@link #scopedKey(String, String)}.
+     * @return A copy of the stored response with its JSON body, or an empty {@link Optional} if there is none.
+     */
+    public synchronized Optional<ResponseEntity<?>> get(String key) {
+        long now = System.currentTimeMillis();
+        evictExpired(now);
+
+        StoredResponse storedResponse = entries.get(key);
+        if (storedResponse == null) {
+            return Optional.empty();
+        }
+        return Optional.of(ResponseEntity.status(storedResponse.status).contentType(MediaType.APPLICATION_JSON).body(storedResponse.body));
+    }
+
+    /**
+     * Stores the response for the given key. The body is serialized right away; inside a transaction the
+     * response is only stored after commit, so a rolled-back submission is never replayed.
+     *
+     * @param key The scoped idempotency key, see {@link #scopedKey(String, String)}.
+     * @param response The response to replay for retries carrying the same key.
+     */
+    public void put(String key, ResponseEntity<?> response) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response.getBody());
+        } catch (JsonProcessingException e) {
+            // Not stored; retries are then answered from the order saved under the key.
+            logger.warn("Could not serialize the response for an idempotency key: {}", e.getMessage());
+            return;
+        }
+        HttpStatusCode status = response.getStatusCode();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(key, status, body);
+                }
+            });
+        } else {
+            store(key, status, body);
+        }
+    }
+
+    private synchronized void store(String key, HttpStatusCode status, String body) {
+        long now = System.currentTimeMillis();
+        evictExpired(now);
+        entries.put(key, new StoredResponse(status, body, now + ttlMs));
+        logger.debug("Stored response for idempotency key {}, {} entries held", key, entries.size());
+    }
+
+    private void evictExpired(long now) {
+        Iterator<StoredResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt <= now) {
+            iterator.remove();
+        }
+    }
+
+    private static final class StoredResponse {
+        private final HttpStatusCode status;
+        private final String body;
+        private final long expiresAt;
+
+        private StoredResponse(HttpStatusCode status, String body, long expiresAt) {
+            this.status = status;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
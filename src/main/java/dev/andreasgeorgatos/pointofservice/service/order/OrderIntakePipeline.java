@@ -0,0 +1,276 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group-commit intake for new orders.
+ * <p>
+ * Concurrent submissions are queued and a single worker thread collects them for a short window, then creates
+ * the whole group in one transaction. Because {@link Order} and its join rows use pooled sequence IDs, Hibernate
+ * can send the group's inserts as JDBC batches and the database commits once per group instead of once per order.
+ * If the group transaction fails (for example on a duplicate idempotency key), every order of the group is
+ * retried in its own transaction so that one bad submission cannot fail the others.
+ * <p>
+ * The queue is bounded: when it is full, or when a submission is not answered within the submit timeout,
+ * the caller gets 503 Service Unavailable instead of waiting indefinitely. A client that retries with the same
+ * {@code Idempotency-Key} gets the order if it was created after all, without being queued again. Any failure of
+ * a group, including an {@link Error}, fails only that group's submissions, and the worker carries on with the
+ * next one.
+ */
+@Component
+public class OrderIntakePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakePipeline.class);
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Submission> queue;
+
+    private final boolean enabled;
+    private final long batchWindowMs;
+    private final int maxBatchSize;
+    private final long submitTimeoutMs;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructs an {@code OrderIntakePipeline}.
+     *
+     * @param orderService The service that validates and creates each order.
+     * @param transactionManager The transaction manager used to open one transaction per group.
+     * @param enabled Whether submissions are grouped. When {@code false}, every order is created in its own transaction on the calling thread.
+     * @param batchWindowMs How long, in milliseconds, the worker waits for more submissions after the first one of a group arrives.
+     * @param maxBatchSize The maximum number of orders created in one group.
+     * @param queueCapacity The maximum number of submissions waiting for the worker; further ones are rejected.
+     * @param submitTimeoutMs How long, in milliseconds, a caller waits for its submission to be processed.
+     */
+    @Autowired
+    public OrderIntakePipeline(OrderService orderService, PlatformTransactionManager transactionManager,
+                               @Value("${orders.intake.group-commit.enabled:true}") boolean enabled,
+                               @Value("${orders.intake.batch-window-ms:5}") long batchWindowMs,
+                               @Value("${orders.intake.max-batch-size:64}") int maxBatchSize,
+                               @Value("${orders.intake.queue-capacity:1024}") int queueCapacity,
+                               @Value("${orders.intake.submit-timeout-ms:10000}") long submitTimeoutMs) {
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchWindowMs = batchWindowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.submitTimeoutMs = submitTimeoutMs;
+    }
+
+    /**
+     * Starts the worker thread if group commit is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Order group commit disabled, orders are created one transaction at a time");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drain, "order-intake");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Order group commit enabled, window {} ms, max batch size {}", batchWindowMs, maxBatchSize);
+    }
+
+    /**
+     * Stops the worker thread. Submissions still queued are created before the thread exits.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Submits an order for creation and waits for the result.
+     * <p>
+     * A retry carrying an idempotency key the same user already submitted is answered with the stored response
+     * right away, without queueing it. Keys are scoped to the authenticated user, so a key sent by another user
+     * never matches.
+     *
+     * @param order The order to create.
+     * @param idempotencyKey The client-supplied idempotency key, or {@code null}.
+     * @return The response produced by {@link OrderService#createOrder(Order, String)} for this order or for the
+     *         earlier submission with the same key, HTTP status BAD_REQUEST if the idempotency key is blank or too long,
+     *         or HTTP status SERVICE_UNAVAILABLE if the queue is full or the submission timed out.
+     */
+    public ResponseEntity<?> submit(Order order, String idempotencyKey) {
+        String scopedKey = null;
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                logger.warn("Rejected order submission with invalid idempotency key.");
+                return ResponseEntity.badRequest().body("Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters.");
+            }
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            scopedKey = OrderIdempotencyStore.scopedKey(authentication != null ? authentication.getName() : null, idempotencyKey);
+            Optional<ResponseEntity<?>> storedResponse = orderService.getIdempotentResponse(scopedKey);
+            if (storedResponse.isPresent()) {
+                return storedResponse.get();
+            }
+        }
+
+        if (!enabled || !running) {
+            return createOrder(order, scopedKey);
+        }
+
+        Submission submission = new Submission(order, scopedKey);
+        if (!queue.offer(submission)) {
+            logger.warn("Order intake queue is full, rejecting submission");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many orders are being submitted. Please retry.");
+        }
+        try {
+            return submission.result.get(submitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Skipped by the worker if it has not picked the submission up yet.
+            submission.result.cancel(false);
+            logger.warn("Order submission not processed within {} ms", submitTimeoutMs);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("The order could not be processed in time. Please retry with the same Idempotency-Key.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            submission.result.cancel(false);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("The order submission was interrupted. Please retry with the same Idempotency-Key.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Order creation failed", e.getCause());
+        }
+    }
+
+    private void drain() {
+        List<Submission> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindowMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Submission next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Stop was requested; anything already queued is still processed by the loop condition.
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+
+            // Submissions whose caller has already given up are not created.
+            batch.removeIf(submission -> submission.result.isCancelled());
+            if (!batch.isEmpty()) {
+                try {
+                    commit(batch);
+                } catch (Throwable t) {
+                    logger.error("Order intake failed for a group of {} orders", batch.size(), t);
+                    for (Submission submission : batch) {
+                        submission.result.completeExceptionally(t);
+                    }
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void commit(List<Submission> batch) {
+        List<ResponseEntity<?>> responses;
+        try {
+            responses = transactionTemplate.execute(status -> {
+                List<ResponseEntity<?>> groupResponses = new ArrayList<>(batch.size());
+                for (Submission submission : batch) {
+                    groupResponses.add(orderService.createOrder(submission.order, submission.idempotencyKey));
+                }
+                return groupResponses;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Group commit of {} orders failed, retrying them one by one: {}", batch.size(), e.getMessage());
+            commitIndividually(batch);
+            return;
+        }
+
+        logger.debug("Group committed {} orders", batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(responses.get(i));
+        }
+    }
+
+    private void commitIndividually(List<Submission> batch) {
+        for (Submission submission : batch) {
+            // The rolled-back group transaction already assigned an ID and version; the order must be persisted as new.
+            submission.order.setId(0);
+            submission.order.setVersion(null);
+            try {
+                submission.result.complete(createOrder(submission.order, submission.idempotencyKey));
+            } catch (RuntimeException e) {
+                submission.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Creates one order in its own transaction. A submission that loses the race on the unique idempotency key
+     * to a concurrent one with the same key gets the winner's response, as any later retry would.
+     */
+    private ResponseEntity<?> createOrder(Order order, String idempotencyKey) {
+        try {
+            return orderService.createOrder(order, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            Optional<ResponseEntity<?>> storedResponse = idempotencyKey == null ? Optional.empty() : orderService.getIdempotentResponse(idempotencyKey);
+            if (storedResponse.isEmpty()) {
+                throw e;
+            }
+            logger.info("Concurrent submission with idempotency key {} already created the order", idempotencyKey);
+            return storedResponse.get();
+        }
+    }
+
+    private static final class Submission {
+        private final Order order;
+        private final String idempotencyKey;
+        private final CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+
+        private Submission(Order order, String idempotencyKey) {
+            this.order = order;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package dev.andreasgeorgatos.pointofservice.service.order;
 
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderItemBatchResultDTO;
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderItemLineDTO;
 import dev.andreasgeorgatos.pointofservice.model.item.Item;
 import dev.andreasgeorgatos.pointofservice.model.item.OrderItem;
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
 import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
 import dev.andreasgeorgatos.pointofservice.repository.item.OrderItemRepository;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderRepository;
+import dev.andreasgeorgatos.pointofservice.service.item.ItemCatalog;
 import org.springframework.transaction.annotation.Transactional; 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,8 +18,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class that handles business logic for order items.
@@ -26,17 +35,23 @@ public class OrderItemService {
 
     private final ItemRepository itemRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final ItemCatalog itemCatalog;
 
     /**
      * Constructs an {@code OrderItemService} with the specified repositories.
      *
      * @param orderItemRepository The repository for order item data access.
      * @param itemRepository The repository for item data access, used to validate items when creating order items.
+     * @param orderRepository The repository for order data access, used to validate the order of a batch of order items.
+     * @param itemCatalog In-memory item catalog, used to resolve all items of a batch with at most one query.
      */
     @Autowired
-    public OrderItemService(OrderItemRepository orderItemRepository, ItemRepository itemRepository) {
+    public OrderItemService(OrderItemRepository orderItemRepository, ItemRepository itemRepository, OrderRepository orderRepository, ItemCatalog itemCatalog) {
         this.orderItemRepository = orderItemRepository;
         this.itemRepository = itemRepository;
+        this.orderRepository = orderRepository;
+        this.itemCatalog = itemCatalog;
     }
 
     /**
@@ -144,6 +159,62 @@ public class OrderItemService {
        return ResponseEntity.status(HttpStatus.CREATED).body(savedOrderItem); 
    }
 
+    /**
+     * Creates all order item lines of an order at once.
+     * Every referenced {@link Item} is resolved through the item catalog with at most one {@code IN} query, and
+     * the rows are inserted as one JDBC batch when the transaction commits. All lines share the same
+     * {@code createdAt} and {@code updated_at} date.
+     *
+     * @param orderId The ID of the order the lines belong to.
+     * @param lines The lines to create.
+     * @return A {@link ResponseEntity} containing the IDs of the created order items and HTTP status CREATED if successful,
+     *         or HTTP status NOT_FOUND if the order or any of the items does not exist, in which case nothing is created.
+     */
+    @Transactional
+    public ResponseEntity<?> createOrderItems(long orderId, List<OrderItemLineDTO> lines) {
+        logger.info("Creating {} order items for order ID: {}", lines.size(), orderId);
+        if (!orderRepository.existsById(orderId)) {
+            logger.warn("Failed to create order items. Order with ID: {} not found", orderId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Order with ID " + orderId + " not found.");
+        }
+
+        List<Long> itemIds = new ArrayList<>(lines.size());
+        for (OrderItemLineDTO line : lines) {
+            itemIds.add(line.getItemId());
+        }
+        Map<Long, Item> items = itemCatalog.resolve(itemIds);
+
+        Set<Long> missingItemIds = new LinkedHashSet<>();
+        for (Long itemId : itemIds) {
+            if (!items.containsKey(itemId)) {
+                missingItemIds.add(itemId);
+            }
+        }
+        if (!missingItemIds.isEmpty()) {
+            logger.warn("Failed to create order items. Items with IDs: {} not found", missingItemIds);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Items with IDs " + missingItemIds + " not found.");
+        }
+
+        Order order = orderRepository.getReferenceById(orderId);
+        LocalDate now = LocalDate.now();
+        List<OrderItem> orderItems = new ArrayList<>(lines.size());
+        for (OrderItemLineDTO line : lines) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            orderItem.setItem(items.get(line.getItemId()));
+            orderItem.setQuantity(line.getQuantity());
+            orderItem.setCreatedAt(now);
+            orderItem.setUpdated_at(now);
+            orderItems.add(orderItem);
+        }
+
+        List<Long> orderItemIds = new ArrayList<>(orderItems.size());
+        for (OrderItem savedOrderItem : orderItemRepository.saveAll(orderItems)) {
+            orderItemIds.add(savedOrderItem.getId());
+        }
+        logger.info("Created {} order items for order ID: {}", orderItemIds.size(), orderId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new OrderItemBatchResultDTO(orderId, orderItemIds.size(), now, orderItemIds));
+    }
 
     /**
      * Deletes an order item by its ID.
@@ -1,24 +1,64 @@
 package dev.andreasgeorgatos.pointofservice.service.order;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderBulkStatusResultDTO;
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderPageDTO;
+import dev.andreasgeorgatos.pointofservice.dto.orders.OrderSummaryDTO;
+import dev.andreasgeorgatos.pointofservice.enums.BulkUpdateOutcome;
+import dev.andreasgeorgatos.pointofservice.event.OrderEvent;
 import dev.andreasgeorgatos.pointofservice.model.item.Item;
 import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.model.order.OrderHistory;
 import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
 import dev.andreasgeorgatos.pointofservice.model.order.OrderType;
-import dev.andreasgeorgatos.pointofservice.repository.item.ItemRepository;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderHistoryRepository;
 import dev.andreasgeorgatos.pointofservice.repository.orders.OrderRepository;
 import dev.andreasgeorgatos.pointofservice.repository.orders.OrderStatusRepository;
 import dev.andreasgeorgatos.pointofservice.repository.orders.OrderTypeRepository;
+import dev.andreasgeorgatos.pointofservice.service.item.ItemCatalog;
+import dev.andreasgeorgatos.pointofservice.service.reports.SalesRollupService;
+import dev.andreasgeorgatos.pointofservice.utils.JsonMergePatch;
+import dev.andreasgeorgatos.pointofservice.utils.Money;
+import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional; 
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus; 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 // import java.time.LocalDate; // Not explicitly used, but good for date handling if needed in future
 
 /**
@@ -29,10 +69,26 @@ import java.util.Optional;
 public class OrderService {
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final char CURSOR_SEPARATOR = '|';
+    private static final int MAX_STATUS_UPDATE_ATTEMPTS = 3;
+    private static final List<String> PATCH_HANDLED_FIELDS = List.of("id", "version", "idempotencyKey", "orderStatusId", "orderTypeId", "items");
+
     private final OrderRepository orderRepository;
     private final OrderTypeRepository orderTypeRepository;
     private final OrderStatusRepository orderStatusRepository;
-    private final ItemRepository itemRepository;
+    private final OrderHistoryRepository orderHistoryRepository;
+    private final ItemCatalog itemCatalog;
+    private final OrderArchiveService orderArchiveService;
+    private final OrderIdempotencyStore orderIdempotencyStore;
+    private final SalesRollupService salesRollupService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate streamTransactionTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
 
     /**
      * Constructs an {@code OrderService} with the specified repositories.
@@ -40,14 +96,38 @@ public class OrderService {
      * @param orderRepository Repository for order data access.
      * @param orderTypeRepository Repository for order type data access.
      * @param orderStatusRepository Repository for order status data access.
-     * @param itemRepository Repository for item data access, used for validating items in orders.
+     * @param orderHistoryRepository Repository for the order history records written by bulk status changes.
+     * @param itemCatalog In-memory item catalog, used for validating and pricing the items in orders.
+     * @param orderArchiveService Archive of old closed orders, consulted when an order is not found by ID.
+     * @param orderIdempotencyStore Store of the responses replayed for retried order submissions.
+     * @param salesRollupService Daily sales rollup, updated in the same transaction as every created, edited or deleted order.
+     * @param entityManager Entity manager, used to detach orders once they have been streamed to the client.
+     * @param objectMapper Mapper used to serialize streamed orders and to apply merge patches.
+     * @param transactionManager Transaction manager, used to open the read-only transaction a streamed response runs in
+     *                           and the transactions of retried status updates.
+     * @param eventPublisher Publisher of {@link OrderEvent}s for order creations and status changes.
+     * @param validator Bean validator, used to check patched orders before they are saved.
      */
     @Autowired
-    public OrderService(OrderRepository orderRepository, OrderTypeRepository orderTypeRepository, OrderStatusRepository orderStatusRepository, ItemRepository itemRepository) {
+    public OrderService(OrderRepository orderRepository, OrderTypeRepository orderTypeRepository, OrderStatusRepository orderStatusRepository,
+                        OrderHistoryRepository orderHistoryRepository, ItemCatalog itemCatalog, OrderArchiveService orderArchiveService,
+                        OrderIdempotencyStore orderIdempotencyStore, SalesRollupService salesRollupService, EntityManager entityManager, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                        ApplicationEventPublisher eventPublisher, Validator validator) {
         this.orderRepository = orderRepository;
         this.orderTypeRepository = orderTypeRepository;
         this.orderStatusRepository = orderStatusRepository;
-        this.itemRepository = itemRepository;
+        this.orderHistoryRepository = orderHistoryRepository;
+        this.itemCatalog = itemCatalog;
+        this.orderArchiveService = orderArchiveService;
+        this.orderIdempotencyStore = orderIdempotencyStore;
+        this.salesRollupService = salesRollupService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.streamTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.streamTransactionTemplate.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
     }
 
     /**
@@ -70,7 +150,164 @@ public class OrderService {
     }
 
     /**
-     * Retrieves a specific order by its ID. This operation is read-only.
+     * Retrieves one page of orders, newest first, using keyset pagination on ({@code order_date}, {@code id}).
+     * Unlike offset pagination, the cost of a page does not grow with how deep the client has paged.
+     * The page's IDs are selected first and the orders are then loaded with their items in a single query.
+     *
+     * @param cursor The {@code nextCursor} returned with the previous page, or {@code null} for the first page.
+     * @param size The requested page size. Values are clamped to the range 1..{@value #MAX_PAGE_SIZE}.
+     * @return A {@link ResponseEntity} containing an {@link OrderPageDTO} and HTTP status OK,
+     *         or HTTP status BAD_REQUEST if the cursor cannot be decoded.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getOrdersPage(String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // One extra row tells us whether another page follows without a separate count query.
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            logger.info("Fetching first page of orders, page size {}", pageSize);
+            ids = orderRepository.findFirstPageIds(limit);
+        } else {
+            String decodedCursor;
+            LocalDate orderDate;
+            long id;
+            try {
+                decodedCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decodedCursor.indexOf(CURSOR_SEPARATOR);
+                orderDate = LocalDate.parse(decodedCursor.substring(0, separator));
+                id = Long.parseLong(decodedCursor.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                logger.warn("Invalid order page cursor: {}", cursor);
+                return ResponseEntity.badRequest().body("Invalid cursor.");
+            }
+            logger.info("Fetching page of orders after {} / {}, page size {}", orderDate, id, pageSize);
+            ids = orderRepository.findPageIdsAfter(orderDate, id, limit);
+        }
+
+        boolean hasNext = ids.size() > pageSize;
+        if (hasNext) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        Map<Long, Order> ordersById = new HashMap<>();
+        for (Order order : orderRepository.findAllWithItemsByIdIn(ids)) {
+            ordersById.put(order.getId(), order);
+        }
+        List<Order> orders = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            orders.add(ordersById.get(id));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Order last = orders.get(orders.size() - 1);
+            String rawCursor = last.getOrderDate().toString() + CURSOR_SEPARATOR + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+        }
+        logger.debug("Returning {} orders, has next page: {}", orders.size(), hasNext);
+        return ResponseEntity.ok(new OrderPageDTO(orders, nextCursor));
+    }
+
+    /**
+     * Streams every order as newline-delimited JSON. Orders are read from a scrollable result and written to
+     * the response one at a time, then detached from the persistence context, so memory use stays flat
+     * regardless of the size of the {@code orders} table.
+     *
+     * @return A {@link ResponseEntity} with an {@code application/x-ndjson} body that writes the orders when the response is committed.
+     */
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        logger.info("Streaming all orders");
+        StreamingResponseBody body = outputStream -> streamTransactionTemplate.executeWithoutResult(status -> writeOrders(outputStream));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeOrders(OutputStream outputStream) {
+        long written = 0;
+        try (Stream<Order> orders = orderRepository.streamAllWithItems()) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                Order order = iterator.next();
+                outputStream.write(objectMapper.writeValueAsBytes(order));
+                outputStream.write('\n');
+                entityManager.detach(order);
+                written++;
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.debug("Streamed {} orders", written);
+    }
+
+    /**
+     * Retrieves the orders placed within a date range, optionally narrowed to one order status and/or order type.
+     * The filters are answered by the composite indexes on {@code orders}, so no full-table scan is needed.
+     * This operation is read-only.
+     *
+     * @param from The first order date to include. Defaults to today when {@code null}.
+     * @param to The last order date to include. Defaults to {@code from} when {@code null}.
+     * @param statusId The order status ID to filter by, or {@code null} for any status.
+     * @param typeId The order type ID to filter by, or {@code null} for any type.
+     * @return A {@link ResponseEntity} containing the matching orders, newest first, and HTTP status OK,
+     *         or HTTP status BAD_REQUEST if {@code from} is after {@code to} or the range is longer than
+     *         {@value ValidationUtils#MAX_DATE_RANGE_DAYS} days.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getOrdersByFilter(LocalDate from, LocalDate to, Long statusId, Long typeId) {
+        LocalDate fromDate = from == null ? LocalDate.now() : from;
+        LocalDate toDate = to == null ? fromDate : to;
+        String dateRangeError = ValidationUtils.getDateRangeError(fromDate, toDate);
+        if (dateRangeError != null) {
+            logger.warn("Rejected order search from {} to {}: {}", fromDate, toDate, dateRangeError);
+            return ResponseEntity.badRequest().body(dateRangeError);
+        }
+
+        logger.info("Fetching orders from {} to {}, status ID: {}, type ID: {}", fromDate, toDate, statusId, typeId);
+        List<Order> orders;
+        if (statusId != null && typeId != null) {
+            orders = orderRepository.findAllByOrderDateBetweenAndStatusAndType(fromDate, toDate, statusId, typeId);
+        } else if (statusId != null) {
+            orders = orderRepository.findAllByOrderDateBetweenAndStatus(fromDate, toDate, statusId);
+        } else if (typeId != null) {
+            orders = orderRepository.findAllByOrderDateBetweenAndType(fromDate, toDate, typeId);
+        } else {
+            orders = orderRepository.findAllByOrderDateBetween(fromDate, toDate);
+        }
+        logger.debug("Found {} orders matching the filter", orders.size());
+        return ResponseEntity.ok(orders);
+    }
+
+    /**
+     * Retrieves lightweight order rows for list views: ID, date, status and type names, total and item count.
+     * The rows are built by the database query itself, so no order, item or status entities are loaded and
+     * only these columns are transferred and serialized. This operation is read-only.
+     *
+     * @param from The first order date to include. Defaults to today when {@code null}.
+     * @param to The last order date to include. Defaults to {@code from} when {@code null}.
+     * @return A {@link ResponseEntity} containing the {@link OrderSummaryDTO}s, newest first, and HTTP status OK,
+     *         or HTTP status BAD_REQUEST if {@code from} is after {@code to} or the range is longer than
+     *         {@value ValidationUtils#MAX_DATE_RANGE_DAYS} days.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getOrderSummaries(LocalDate from, LocalDate to) {
+        LocalDate fromDate = from == null ? LocalDate.now() : from;
+        LocalDate toDate = to == null ? fromDate : to;
+        String dateRangeError = ValidationUtils.getDateRangeError(fromDate, toDate);
+        if (dateRangeError != null) {
+            logger.warn("Rejected order summary request from {} to {}: {}", fromDate, toDate, dateRangeError);
+            return ResponseEntity.badRequest().body(dateRangeError);
+        }
+        logger.info("Fetching summaries of orders from {} to {}", fromDate, toDate);
+        List<OrderSummaryDTO> summaries = orderRepository.findSummariesByOrderDateBetween(fromDate, toDate);
+        logger.debug("Found {} order summaries", summaries.size());
+        return ResponseEntity.ok(summaries);
+    }
+
+    /**
+     * Retrieves a specific order by its ID. Orders that have been archived are read from the archive tables.
+     * This operation is read-only.
      *
      * @param id The ID of the order to retrieve.
      * @return A {@link ResponseEntity} containing the {@link Order} if found and HTTP status OK,
@@ -80,6 +317,9 @@ public class OrderService {
     public ResponseEntity<Order> getOrderById(long id) {
         logger.info("Fetching order with ID: {}", id);
         Optional<Order> order = orderRepository.findById(id);
+        if (order.isEmpty()) {
+            order = orderArchiveService.findArchivedOrder(id);
+        }
 
         if (order.isPresent()) {
             logger.debug("Found order: {}", order.get());
@@ -93,13 +333,18 @@ public class OrderService {
      * Updates an existing order by its ID.
      * The method validates the existence of the order and the provided {@code OrderType} and {@code OrderStatus} IDs.
      * Note: For robust updates, item validation (e.g., stock availability) and recalculation of {@code orderTotal}
-     * should occur if the items list is modified. The current implementation directly sets items and total from the input.
+     * should occur if the items list is modified. The current implementation takes items and total from the input;
+     * the item list is merged into the stored one so that unchanged {@code order_items} rows are kept.
      * The {@code orderDate} is also directly set from input; typically, this is set upon creation and not updated.
      *
+     * If {@code orderDetails} carries a {@code version}, it must match the stored version; otherwise the edit was based
+     * on a stale copy and is rejected with the current state of the order.
+     *
      * @param id The ID of the order to edit.
      * @param orderDetails The {@link Order} object containing the new details for the order.
      * @return A {@link ResponseEntity} containing the updated {@link Order} and HTTP status OK if successful.
      *         Returns HTTP status NOT_FOUND if the order with the given ID does not exist.
+     *         Returns HTTP status CONFLICT with the current {@link Order} if the supplied version is stale.
      *         Returns HTTP status BAD_REQUEST if essential linked entities (OrderType, OrderStatus) are missing or invalid in the input.
      */
     @Transactional
@@ -133,31 +378,354 @@ public class OrderService {
         }
 
         Order oldOrder = foundOrder.get();
+        if (orderDetails.getVersion() != null && !orderDetails.getVersion().equals(oldOrder.getVersion())) {
+            logger.warn("Rejected edit of order ID: {} based on version {}, current version is {}", id, orderDetails.getVersion(), oldOrder.getVersion());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(oldOrder);
+        }
+        boolean statusChanged = oldOrder.getOrderStatusId() == null || oldOrder.getOrderStatusId().getId() != orderStatusOpt.get().getId();
 
+        salesRollupService.removeOrder(oldOrder);
         oldOrder.setOrderTotal(orderDetails.getOrderTotal()); 
         oldOrder.setOrderStatusId(orderStatusOpt.get());
         oldOrder.setOrderTypeId(orderTypeOpt.get());
-        oldOrder.setItems(orderDetails.getItems()); 
+        if (orderDetails.getItems() != null) {
+            mergeItems(oldOrder.getItems(), orderDetails.getItems());
+        }
         oldOrder.setOrderDate(orderDetails.getOrderDate()); 
 
         Order savedOrder = orderRepository.save(oldOrder);
+        salesRollupService.recordOrder(savedOrder);
         logger.info("Order with ID: {} updated successfully", savedOrder.getId());
+        if (statusChanged) {
+            eventPublisher.publishEvent(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, savedOrder));
+        }
+        return ResponseEntity.ok(savedOrder);
+    }
+
+    /**
+     * Applies a JSON Merge Patch to an order. Only the members present in the patch are changed, and the order is
+     * updated with a statement covering just the changed columns. {@code orderStatusId} and {@code orderTypeId}
+     * are given as {@code {"id": ...}}; {@code items} replaces the item list, which is merged into the stored one
+     * so that only the {@code order_items} rows that differ are written, and the total is then recalculated from
+     * the catalog prices.
+     *
+     * @param id The ID of the order to patch.
+     * @param patch The merge patch.
+     * @return A {@link ResponseEntity} containing the updated {@link Order} and HTTP status OK if successful.
+     *         Returns HTTP status NOT_FOUND if the order does not exist,
+     *         HTTP status CONFLICT with the current {@link Order} if the patch carries a stale {@code version},
+     *         or HTTP status BAD_REQUEST if the patch is malformed, references an unknown status, type or item,
+     *         or leaves the order invalid, e.g. with a negative total.
+     */
+    @Transactional
+    public ResponseEntity<?> patchOrderById(long id, JsonNode patch) {
+        logger.info("Patching order with ID: {}, patch: {}", id, patch);
+        Long version;
+        try {
+            JsonMergePatch.requireObject(patch);
+            version = JsonMergePatch.version(patch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        Optional<Order> foundOrder = orderRepository.findById(id);
+        if (foundOrder.isEmpty()) {
+            logger.warn("Failed to patch. Order with ID: {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+
+        Order order = foundOrder.get();
+        if (version != null && !Objects.equals(version, order.getVersion())) {
+            logger.warn("Rejected patch of order ID: {} based on version {}, current version is {}", id, version, order.getVersion());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(order);
+        }
+
+        // Every referenced entity is resolved before the order is touched, so a rejected patch leaves it unchanged.
+        OrderStatuses orderStatus = null;
+        if (patch.has("orderStatusId")) {
+            Long orderStatusId = JsonMergePatch.referencedId(patch.get("orderStatusId"));
+            Optional<OrderStatuses> orderStatusOpt = orderStatusId == null ? Optional.empty() : orderStatusRepository.findById(orderStatusId);
+            if (orderStatusOpt.isEmpty()) {
+                logger.warn("Invalid OrderStatus in patch for order ID: {}", id);
+                return ResponseEntity.badRequest().body("Invalid OrderStatus ID provided.");
+            }
+            orderStatus = orderStatusOpt.get();
+        }
+        OrderType orderType = null;
+        if (patch.has("orderTypeId")) {
+            Long orderTypeId = JsonMergePatch.referencedId(patch.get("orderTypeId"));
+            Optional<OrderType> orderTypeOpt = orderTypeId == null ? Optional.empty() : orderTypeRepository.findById(orderTypeId);
+            if (orderTypeOpt.isEmpty()) {
+                logger.warn("Invalid OrderType in patch for order ID: {}", id);
+                return ResponseEntity.badRequest().body("Invalid OrderType ID provided.");
+            }
+            orderType = orderTypeOpt.get();
+        }
+        List<Item> items = null;
+        long orderTotal = 0;
+        if (patch.has("items")) {
+            JsonNode itemNodes = patch.get("items");
+            if (!itemNodes.isArray() || itemNodes.isEmpty()) {
+                return ResponseEntity.badRequest().body("Order must contain at least one item.");
+            }
+            List<Long> itemIds = new ArrayList<>(itemNodes.size());
+            for (JsonNode itemNode : itemNodes) {
+                Long itemId = JsonMergePatch.referencedId(itemNode);
+                if (itemId == null) {
+                    return ResponseEntity.badRequest().body("Order items cannot be null and must have an ID.");
+                }
+                itemIds.add(itemId);
+            }
+
+            Map<Long, Item> catalogItems = itemCatalog.resolve(itemIds);
+            items = new ArrayList<>(itemIds.size());
+            for (Long itemId : itemIds) {
+                Item catalogItem = catalogItems.get(itemId);
+                if (catalogItem == null) {
+                    logger.warn("Item with ID {} not found while patching order ID: {}", itemId, id);
+                    return ResponseEntity.badRequest().body("Item with ID " + itemId + " not found.");
+                }
+                items.add(catalogItem);
+                orderTotal = Money.add(orderTotal, catalogItem.getItemPrice());
+            }
+        }
+
+        // Only the date, type, items and total of an order count in the sales rollup.
+        boolean salesChanged = patch.has("orderDate") || patch.has("orderTypeId") || patch.has("items") || patch.has("orderTotal");
+        if (salesChanged) {
+            salesRollupService.removeOrder(order);
+        }
+
+        try {
+            JsonMergePatch.apply(objectMapper, order, patch, PATCH_HANDLED_FIELDS);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid patch for order ID: {}: {}", id, e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        boolean statusChanged = false;
+        if (orderStatus != null) {
+            statusChanged = order.getOrderStatusId() == null || order.getOrderStatusId().getId() != orderStatus.getId();
+            order.setOrderStatusId(orderStatus);
+        }
+        if (orderType != null) {
+            order.setOrderTypeId(orderType);
+        }
+        if (items != null) {
+            mergeItems(order.getItems(), items);
+            order.setOrderTotal(orderTotal);
+        }
+
+        // The patch bypasses @Valid on the request body, so the merged order is validated before it can be flushed.
+        List<String> violations = ValidationUtils.getValidationErrors(validator.validate(order));
+        if (!violations.isEmpty()) {
+            logger.warn("Patched order ID: {} is invalid: {}", id, violations);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseEntity.badRequest().body(violations);
+        }
+
+        Order savedOrder = orderRepository.save(order);
+        if (salesChanged) {
+            salesRollupService.recordOrder(savedOrder);
+        }
+        logger.info("Order with ID: {} patched successfully", id);
+        if (statusChanged) {
+            eventPublisher.publishEvent(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, savedOrder));
+        }
         return ResponseEntity.ok(savedOrder);
     }
 
+    /**
+     * Turns {@code current} into a list holding the same items as {@code desired}, compared by ID, while moving as
+     * few elements as possible. Order items are an indexed collection, so Hibernate writes one row per position
+     * whose item changed: retained items keep their position, removed positions are refilled with added items,
+     * and any remaining gaps are closed from the tail so that only the trailing rows are deleted.
+     */
+    private static void mergeItems(List<Item> current, List<Item> desired) {
+        Map<Long, Integer> wanted = new HashMap<>();
+        for (Item item : desired) {
+            wanted.merge(item.getId(), 1, Integer::sum);
+        }
+
+        boolean[] free = new boolean[current.size()];
+        for (int i = 0; i < current.size(); i++) {
+            Integer count = wanted.get(current.get(i).getId());
+            if (count != null && count > 0) {
+                wanted.put(current.get(i).getId(), count - 1);
+            } else {
+                free[i] = true;
+            }
+        }
+
+        Deque<Item> additions = new ArrayDeque<>();
+        for (Item item : desired) {
+            Integer count = wanted.get(item.getId());
+            if (count > 0) {
+                additions.add(item);
+                wanted.put(item.getId(), count - 1);
+            }
+        }
+
+        int size = current.size();
+        for (int i = 0; i < size; i++) {
+            if (!free[i]) {
+                continue;
+            }
+            if (!additions.isEmpty()) {
+                current.set(i, additions.poll());
+                continue;
+            }
+            while (size - 1 > i && free[size - 1]) {
+                size--;
+            }
+            size--;
+            if (size > i) {
+                current.set(i, current.get(size));
+            }
+        }
+        while (current.size() > size) {
+            current.remove(current.size() - 1);
+        }
+        current.addAll(additions);
+    }
+
+    /**
+     * Changes the status of an order. Setting a status does not depend on the rest of the order, so when a concurrent
+     * edit wins the optimistic lock the update is simply re-applied to the fresh row, up to
+     * {@value #MAX_STATUS_UPDATE_ATTEMPTS} times, each in its own transaction.
+     *
+     * @param id The ID of the order.
+     * @param orderStatusId The ID of the new {@link OrderStatuses}.
+     * @return A {@link ResponseEntity} containing the updated {@link Order} and HTTP status OK,
+     *         HTTP status NOT_FOUND if the order does not exist,
+     *         or HTTP status BAD_REQUEST if the order status does not exist.
+     * @throws OptimisticLockingFailureException if the order kept changing concurrently on every attempt.
+     */
+    public ResponseEntity<?> updateOrderStatus(long id, long orderStatusId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyOrderStatus(id, orderStatusId));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_STATUS_UPDATE_ATTEMPTS) {
+                    logger.warn("Giving up on status update of order ID: {} after {} conflicting attempts", id, attempt);
+                    throw e;
+                }
+                logger.debug("Status update of order ID: {} conflicted with a concurrent edit, retrying", id);
+            }
+        }
+    }
+
+    private ResponseEntity<?> applyOrderStatus(long id, long orderStatusId) {
+        logger.info("Setting status of order ID: {} to status ID: {}", id, orderStatusId);
+        Optional<Order> foundOrder = orderRepository.findById(id);
+        if (foundOrder.isEmpty()) {
+            logger.warn("Failed to update status. Order with ID: {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+        Optional<OrderStatuses> orderStatusOpt = orderStatusRepository.findById(orderStatusId);
+        if (orderStatusOpt.isEmpty()) {
+            logger.warn("Invalid OrderStatus ID: {} provided for order ID: {}", orderStatusId, id);
+            return ResponseEntity.badRequest().body("Invalid OrderStatus ID provided.");
+        }
+
+        Order order = foundOrder.get();
+        if (order.getOrderStatusId() != null && order.getOrderStatusId().getId() == orderStatusId) {
+            return ResponseEntity.ok(order);
+        }
+        order.setOrderStatusId(orderStatusOpt.get());
+        Order savedOrder = orderRepository.saveAndFlush(order);
+        eventPublisher.publishEvent(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, savedOrder));
+        return ResponseEntity.ok(savedOrder);
+    }
+
+    /**
+     * Moves many orders to the same status at once, as done at close-out. The target status is validated once, the
+     * orders that need the change are moved with a single set-based {@code UPDATE}, and one {@link OrderHistory}
+     * record per changed order is inserted in JDBC batches. Orders already in the target status are left untouched.
+     *
+     * @param orderIds The IDs of the orders to update. Duplicates are ignored.
+     * @param orderStatusId The ID of the target {@link OrderStatuses}.
+     * @return A {@link ResponseEntity} containing an {@link OrderBulkStatusResultDTO} with the outcome for every
+     *         requested ID and HTTP status OK, HTTP status BAD_REQUEST if the order status does not exist, or
+     *         HTTP status CONFLICT if an order was deleted while the update ran.
+     */
+    @Transactional
+    public ResponseEntity<?> updateOrderStatuses(Collection<Long> orderIds, long orderStatusId) {
+        logger.info("Setting status ID: {} on {} orders", orderStatusId, orderIds.size());
+        Optional<OrderStatuses> orderStatusOpt = orderStatusRepository.findById(orderStatusId);
+        if (orderStatusOpt.isEmpty()) {
+            logger.warn("Invalid OrderStatus ID: {} provided for bulk status update", orderStatusId);
+            return ResponseEntity.badRequest().body("Invalid OrderStatus ID provided.");
+        }
+        OrderStatuses orderStatus = orderStatusOpt.get();
+
+        Map<Long, BulkUpdateOutcome> results = new LinkedHashMap<>();
+        for (Long orderId : new LinkedHashSet<>(orderIds)) {
+            results.put(orderId, BulkUpdateOutcome.NOT_FOUND);
+        }
+
+        List<Order> changedOrders = new ArrayList<>();
+        for (Object[] row : orderRepository.findStatusRowsByIdIn(results.keySet())) {
+            long orderId = (Long) row[0];
+            Long currentStatusId = (Long) row[1];
+            if (currentStatusId != null && currentStatusId == orderStatusId) {
+                results.put(orderId, BulkUpdateOutcome.UNCHANGED);
+                continue;
+            }
+            results.put(orderId, BulkUpdateOutcome.UPDATED);
+            // Only what the order feed needs; the orders themselves are not loaded.
+            Order changedOrder = new Order();
+            changedOrder.setId(orderId);
+            changedOrder.setOrderDate((LocalDate) row[2]);
+            changedOrder.setOrderStatusId(orderStatus);
+            changedOrders.add(changedOrder);
+        }
+
+        if (!changedOrders.isEmpty()) {
+            List<Long> changedIds = new ArrayList<>(changedOrders.size());
+            List<OrderHistory> histories = new ArrayList<>(changedOrders.size());
+            for (Order changedOrder : changedOrders) {
+                changedIds.add(changedOrder.getId());
+                OrderHistory history = new OrderHistory();
+                history.setOrder(entityManager.getReference(Order.class, changedOrder.getId()));
+                history.setOrderStatus(orderStatus);
+                histories.add(history);
+            }
+            int updated = orderRepository.updateOrderStatusByIdIn(changedIds, orderStatus);
+            if (updated != changedIds.size()) {
+                // An order was deleted between the read and the update; its outcome and history would be wrong.
+                logger.warn("Bulk status update matched {} of {} orders, rolling back", updated, changedIds.size());
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("Some of the orders changed during the update, please retry.");
+            }
+            orderHistoryRepository.saveAll(histories);
+            logger.info("Bulk status update moved {} orders to status ID: {}", updated, orderStatusId);
+
+            for (Order changedOrder : changedOrders) {
+                eventPublisher.publishEvent(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, changedOrder));
+            }
+        }
+        return ResponseEntity.ok(new OrderBulkStatusResultDTO(orderStatusId, changedOrders.size(), results));
+    }
+
     /**
      * Creates a new order.
      * This method requires {@code OrderType}, {@code OrderStatus}, and at least one item to be specified in the input {@code order}.
      * It validates the existence of these entities and calculates the {@code orderTotal} based on the prices of the items.
      * The {@code orderDate} should ideally be set before calling this method or defaulted here (e.g., to current date).
+     * <p>
+     * Retries carrying an idempotency key are answered by {@link OrderIntakePipeline#submit} before they get here;
+     * the key is saved with the order, and its response stored for later retries once the order is committed.
      *
      * @param order The {@link Order} object to create. Must include valid IDs for {@code OrderType}, {@code OrderStatus}, and a non-empty list of items with valid IDs.
+     * @param idempotencyKey The scoped idempotency key, see {@link OrderIdempotencyStore#scopedKey(String, String)},
+     *                       or {@code null} if the client did not send one.
      * @return A {@link ResponseEntity} containing the created {@link Order} with HTTP status CREATED if successful.
      *         Returns HTTP status BAD_REQUEST if required fields (items, OrderType ID, OrderStatus ID) are missing or invalid,
      *         or if any specified item is not found.
      */
     @Transactional
-    public ResponseEntity<?> createOrder(Order order) { 
+    public ResponseEntity<?> createOrder(Order order, String idempotencyKey) { 
         logger.info("Creating new order: {}", order);
         if (order.getItems() == null || order.getItems().isEmpty()) {
             logger.warn("Attempted to create order with no items.");
@@ -184,34 +752,76 @@ public class OrderService {
             return ResponseEntity.badRequest().body("Invalid OrderStatus ID: " + order.getOrderStatusId().getId());
         }
 
-        List<Item> items = new ArrayList<>();
-        double orderTotal = 0;
-
+        List<Long> itemIds = new ArrayList<>(order.getItems().size());
         for (Item item : order.getItems()) {
-            if (item == null || item.getId() == null) {
+            if (item == null) {
                  logger.warn("Order creation attempt with a null item or item with null ID in the item list.");
                  return ResponseEntity.badRequest().body("Order items cannot be null and must have an ID.");
             }
-            Optional<Item> optionalItem = itemRepository.findById(item.getId());
-            if (optionalItem.isEmpty()) {
-                logger.warn("Item with ID {} not found during order creation.", item.getId());
-                return ResponseEntity.badRequest().body("Item with ID " + item.getId() + " not found.");
+            itemIds.add(item.getId());
+        }
+
+        // All line items are priced from the catalog; IDs it does not hold yet are loaded with a single query.
+        Map<Long, Item> catalogItems = itemCatalog.resolve(itemIds);
+
+        List<Item> items = new ArrayList<>(itemIds.size());
+        long orderTotal = 0;
+
+        for (Long itemId : itemIds) {
+            Item catalogItem = catalogItems.get(itemId);
+            if (catalogItem == null) {
+                logger.warn("Item with ID {} not found during order creation.", itemId);
+                return ResponseEntity.badRequest().body("Item with ID " + itemId + " not found.");
             }
-            items.add(optionalItem.get());
-            orderTotal += optionalItem.get().getItemPrice(); 
+            items.add(catalogItem);
+            orderTotal = Money.add(orderTotal, catalogItem.getItemPrice());
         }
 
         order.setOrderTypeId(orderTypeOpt.get());
         order.setOrderStatusId(orderStatusOpt.get());
         order.setItems(items); 
         order.setOrderTotal(orderTotal);
+        order.setIdempotencyKey(idempotencyKey);
+        order.setVersion(null);
         // if (order.getOrderDate() == null) order.setOrderDate(LocalDate.now()); // Ensure orderDate is set
 
         Order savedOrder = orderRepository.save(order);
         logger.info("Order created successfully with ID: {}", savedOrder.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedOrder); 
+        salesRollupService.recordOrder(savedOrder);
+        eventPublisher.publishEvent(new OrderEvent(OrderEvent.Type.CREATED, savedOrder));
+        ResponseEntity<?> response = ResponseEntity.status(HttpStatus.CREATED).body(savedOrder);
+        if (idempotencyKey != null) {
+            orderIdempotencyStore.put(idempotencyKey, response);
+        }
+        return response;
     }
 
+    /**
+     * Returns the response of an earlier submission carrying the given idempotency key: the stored response
+     * if it is still held in memory, otherwise the order saved under that key in the database.
+     * <p>
+     * This is also how a submission that lost the race on the unique {@code idempotency_key} column
+     * to a concurrent one with the same key is answered, once the winner has committed.
+     *
+     * @param idempotencyKey The scoped idempotency key, see {@link OrderIdempotencyStore#scopedKey(String, String)}.
+     * @return The response to replay, or an empty {@link Optional} if no order was submitted with that key.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResponseEntity<?>> getIdempotentResponse(String idempotencyKey) {
+        Optional<ResponseEntity<?>> storedResponse = orderIdempotencyStore.get(idempotencyKey);
+        if (storedResponse.isPresent()) {
+            logger.info("Replaying stored response for idempotency key: {}", idempotencyKey);
+            return storedResponse;
+        }
+        Optional<Order> existingOrder = orderRepository.findByIdempotencyKey(idempotencyKey);
+        if (existingOrder.isEmpty()) {
+            return Optional.empty();
+        }
+        logger.info("Order for idempotency key: {} already exists with ID: {}", idempotencyKey, existingOrder.get().getId());
+        ResponseEntity<?> response = ResponseEntity.status(HttpStatus.CREATED).body(existingOrder.get());
+        orderIdempotencyStore.put(idempotencyKey, response);
+        return Optional.of(response);
+    }
 
     /**
      * Deletes an order by its ID.
@@ -226,6 +836,7 @@ public class OrderService {
         Optional<Order> order = orderRepository.findById(id);
 
         if (order.isPresent()) {
+            salesRollupService.removeOrder(order.get());
             orderRepository.deleteById(id);
             logger.info("Order with ID: {} deleted successfully", id);
             return ResponseEntity.noContent().build();
@@ -1,11 +1,13 @@
 package dev.andreasgeorgatos.pointofservice.service.order;
 
+import dev.andreasgeorgatos.pointofservice.event.OrderStatusUpdatedEvent;
 import dev.andreasgeorgatos.pointofservice.model.order.OrderStatuses;
 import dev.andreasgeorgatos.pointofservice.repository.orders.OrderStatusRepository;
 import org.springframework.transaction.annotation.Transactional; 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus; 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -23,15 +25,18 @@ public class OrderStatusService {
     private static final Logger logger = LoggerFactory.getLogger(OrderStatusService.class);
 
     private final OrderStatusRepository orderStatusRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs an {@code OrderStatusService} with the specified {@link OrderStatusRepository}.
      *
      * @param orderStatusRepository The repository for order status data access.
+     * @param eventPublisher Publisher of {@link OrderStatusUpdatedEvent}s for created and renamed statuses.
      */
     @Autowired
-    public OrderStatusService(OrderStatusRepository orderStatusRepository) {
+    public OrderStatusService(OrderStatusRepository orderStatusRepository, ApplicationEventPublisher eventPublisher) {
         this.orderStatusRepository = orderStatusRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -85,6 +90,7 @@ public class OrderStatusService {
         logger.info("Creating new order status: {}", orderStatus);
         OrderStatuses savedStatus = orderStatusRepository.save(orderStatus); // Renamed variable for clarity
         logger.info("Order status created successfully with ID: {}", savedStatus.getId());
+        eventPublisher.publishEvent(new OrderStatusUpdatedEvent(savedStatus));
         return ResponseEntity.status(HttpStatus.CREATED).body(savedStatus); 
     }
 
@@ -107,6 +113,7 @@ public class OrderStatusService {
             oldOrderStatus.setStatus(orderStatusDetails.getStatus());
             OrderStatuses savedOrderStatus = orderStatusRepository.save(oldOrderStatus);
             logger.info("Order status with ID: {} updated successfully", savedOrderStatus.getId());
+            eventPublisher.publishEvent(new OrderStatusUpdatedEvent(savedOrderStatus));
             return ResponseEntity.ok(savedOrderStatus);
         }
         logger.warn("Failed to edit. Order status with ID: {} not found", id);
@@ -0,0 +1,327 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import dev.andreasgeorgatos.pointofservice.dto.reservations.ReservationCreateDTO;
+import dev.andreasgeorgatos.pointofservice.dto.tables.TableStateDTO;
+import dev.andreasgeorgatos.pointofservice.enums.ReservationStatus;
+import dev.andreasgeorgatos.pointofservice.model.order.Reservation;
+import dev.andreasgeorgatos.pointofservice.repository.orders.ReservationRepository;
+import dev.andreasgeorgatos.pointofservice.utils.IntervalTree;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time-slotted reservations of dine-in tables.
+ * <p>
+ * Every table has an {@link IntervalTree} of the slots held by its booked and seated reservations, in minutes, so
+ * checking whether a table is free for a slot is a single {@code O(log n)} descent and an availability query over
+ * the whole floor never touches the database. The trees are loaded from the {@code reservations} table on startup
+ * and hold only reservations that have not ended yet; ended ones are pruned hourly.
+ * <p>
+ * Every booking and status change of a table runs under that table's lock: the slot is checked in the tree, the
+ * row is written in its own transaction, and only after the commit is the tree updated, so two hosts can never
+ * book overlapping slots and the trees never hold a reservation that was rolled back.
+ */
+@Service
+public class ReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationService.class);
+
+    private static final Set<ReservationStatus> HOLDING_STATUSES = EnumSet.of(ReservationStatus.BOOKED, ReservationStatus.SEATED);
+    private static final int MIN_DURATION_MINUTES = 15;
+    private static final int MAX_DURATION_MINUTES = 480;
+    private static final int MAX_LISTING_DAYS = 31;
+
+    private final ReservationRepository reservationRepository;
+    private final FloorBoardService floorBoardService;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultDurationMinutes;
+
+    private final Map<Long, IntervalTree> schedules = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@code ReservationService}.
+     *
+     * @param reservationRepository Repository for reservation data access.
+     * @param floorBoardService The floor board, used as the in-memory list of tables and their seats.
+     * @param transactionManager Transaction manager used to write every booking in its own transaction.
+     * @param defaultDurationMinutes How long a reservation lasts when no duration is given.
+     */
+    @Autowired
+    public ReservationService(ReservationRepository reservationRepository, FloorBoardService floorBoardService, PlatformTransactionManager transactionManager,
+                              @Value("${reservations.default-duration-minutes:90}") int defaultDurationMinutes) {
+        this.reservationRepository = reservationRepository;
+        this.floorBoardService = floorBoardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultDurationMinutes = defaultDurationMinutes;
+    }
+
+    /**
+     * Loads every booked or seated reservation that has not ended yet. Runs before the web server accepts requests.
+     */
+    @PostConstruct
+    public void load() {
+        schedules.clear();
+        List<Reservation> reservations = reservationRepository.findEndingAfter(LocalDateTime.now(), HOLDING_STATUSES);
+        for (Reservation reservation : reservations) {
+            schedule(reservation.getTableId()).insert(toMinutes(reservation.getStartsAt()), toMinutes(reservation.getEndsAt()), reservation.getId());
+        }
+        logger.info("Loaded {} upcoming reservations for {} tables", reservations.size(), schedules.size());
+    }
+
+    /**
+     * Finds the tables free for a time slot.
+     *
+     * @param startsAt The start of the slot.
+     * @param durationMinutes The length of the slot, or {@code null} for the default.
+     * @param partySize The number of guests, or {@code null} for any table.
+     * @return A {@link ResponseEntity} containing the free tables seating the party, smallest first, and HTTP status OK,
+     *         or HTTP status BAD_REQUEST if the duration is out of range.
+     */
+    public ResponseEntity<?> getAvailability(LocalDateTime startsAt, Integer durationMinutes, Integer partySize) {
+        int duration = durationMinutes != null ? durationMinutes : defaultDurationMinutes;
+        if (duration < MIN_DURATION_MINUTES || duration > MAX_DURATION_MINUTES) {
+            return ResponseEntity.badRequest().body("The duration must be between " + MIN_DURATION_MINUTES + " and " + MAX_DURATION_MINUTES + " minutes.");
+        }
+        long start = toMinutes(startsAt);
+        long end = start + duration;
+
+        List<TableStateDTO> freeTables = new ArrayList<>();
+        for (TableStateDTO table : candidateTables(partySize)) {
+            if (isFree(table.tableId(), start, end)) {
+                freeTables.add(table);
+            }
+        }
+        return ResponseEntity.ok(freeTables);
+    }
+
+    /**
+     * Books a table. Without a table ID the smallest free table seating the party is booked.
+     *
+     * @param details The booking details.
+     * @return A {@link ResponseEntity} containing the created {@link Reservation} and HTTP status OK,
+     *         HTTP status NOT_FOUND if the requested table does not exist,
+     *         HTTP status BAD_REQUEST if the slot is in the past or the table is too small,
+     *         or HTTP status CONFLICT if no suitable table is free for the slot.
+     */
+    public ResponseEntity<?> createReservation(ReservationCreateDTO details) {
+        int duration = details.getDurationMinutes() != null ? details.getDurationMinutes() : defaultDurationMinutes;
+        LocalDateTime startsAt = details.getStartsAt();
+        LocalDateTime endsAt = startsAt.plusMinutes(duration);
+        if (!endsAt.isAfter(LocalDateTime.now())) {
+            return ResponseEntity.badRequest().body("The reservation must not end in the past.");
+        }
+
+        List<TableStateDTO> candidates;
+        if (details.getTableId() != null) {
+            Optional<TableStateDTO> table = floorBoardService.getTableById(details.getTableId());
+            if (table.isEmpty()) {
+                logger.warn("Reservation requested for unknown table ID: {}", details.getTableId());
+                return ResponseEntity.notFound().build();
+            }
+            if (!seats(table.get(), details.getPartySize())) {
+                return ResponseEntity.badRequest().body("Table " + table.get().tableNumber() + " seats " + table.get().seats() + " guests.");
+            }
+            candidates = List.of(table.get());
+        } else {
+            candidates = candidateTables(details.getPartySize());
+        }
+
+        long start = toMinutes(startsAt);
+        long end = toMinutes(endsAt);
+        for (TableStateDTO table : candidates) {
+            IntervalTree schedule = schedule(table.tableId());
+            synchronized (schedule) {
+                if (schedule.overlaps(start, end)) {
+                    continue;
+                }
+                Reservation reservation = new Reservation();
+                reservation.setTableId(table.tableId());
+                reservation.setCustomerName(details.getCustomerName());
+                reservation.setPhoneNumber(details.getPhoneNumber());
+                reservation.setPartySize(details.getPartySize());
+                reservation.setStartsAt(startsAt);
+                reservation.setEndsAt(endsAt);
+                reservation.setStatus(ReservationStatus.BOOKED);
+                reservation.setNotes(details.getNotes());
+                reservation.setCreatedAt(LocalDateTime.now());
+
+                Reservation savedReservation = transactionTemplate.execute(status -> reservationRepository.save(reservation));
+                schedule.insert(start, end, savedReservation.getId());
+                logger.info("Reservation ID: {} booked table {} from {} to {}", savedReservation.getId(), table.tableNumber(), startsAt, endsAt);
+                return ResponseEntity.ok(savedReservation);
+            }
+        }
+        logger.info("No table for {} guests is free from {} to {}", details.getPartySize(), startsAt, endsAt);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(details.getTableId() != null
+                ? "The table is already reserved for part of that time."
+                : "No table seating " + details.getPartySize() + " guests is free for that time.");
+    }
+
+    /**
+     * Changes the status of a reservation. Cancelling, completing or marking it as a no-show frees its slot;
+     * reinstating it takes the slot again if it is still free.
+     *
+     * @param id The ID of the reservation.
+     * @param status The new status.
+     * @return A {@link ResponseEntity} containing the updated {@link Reservation} and HTTP status OK,
+     *         HTTP status NOT_FOUND if the reservation does not exist,
+     *         or HTTP status CONFLICT if it was changed concurrently or is reinstated and its slot has been booked meanwhile.
+     */
+    public ResponseEntity<?> changeStatus(long id, ReservationStatus status) {
+        Optional<Reservation> optionalReservation = reservationRepository.findById(id);
+        if (optionalReservation.isEmpty()) {
+            logger.warn("Reservation with ID: {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+
+        Reservation reservation = optionalReservation.get();
+        IntervalTree schedule = schedule(reservation.getTableId());
+        synchronized (schedule) {
+            long start = toMinutes(reservation.getStartsAt());
+            long end = toMinutes(reservation.getEndsAt());
+            boolean held = reservation.getStatus().holdsTable();
+            boolean holds = status.holdsTable();
+
+            if (!held && holds && reservation.getEndsAt().isAfter(LocalDateTime.now()) && schedule.overlaps(start, end)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("The table has been reserved for part of that time meanwhile.");
+            }
+
+            reservation.setStatus(status);
+            Reservation savedReservation;
+            try {
+                savedReservation = transactionTemplate.execute(transactionStatus -> reservationRepository.save(reservation));
+            } catch (OptimisticLockingFailureException e) {
+                // The status read above is stale, so the tree must not be touched; the version check rejected the write.
+                logger.warn("Reservation ID: {} was changed concurrently", id);
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("The reservation was changed meanwhile, reload it and try again.");
+            }
+            if (held && !holds) {
+                schedule.remove(start, id);
+            } else if (!held && holds && reservation.getEndsAt().isAfter(LocalDateTime.now())) {
+                schedule.insert(start, end, id);
+            }
+            logger.info("Reservation ID: {} is now {}", id, status);
+            return ResponseEntity.ok(savedReservation);
+        }
+    }
+
+    /**
+     * Retrieves a reservation by its ID.
+     *
+     * @param id The ID of the reservation.
+     * @return A {@link ResponseEntity} containing the {@link Reservation} and HTTP status OK,
+     *         or HTTP status NOT_FOUND if it does not exist.
+     */
+    public ResponseEntity<Reservation> getReservationById(long id) {
+        return reservationRepository.findById(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retrieves the reservations overlapping a date range, in any status.
+     *
+     * @param from The first day to include. Defaults to today when {@code null}.
+     * @param to The last day to include. Defaults to {@code from} when {@code null}.
+     * @return A {@link ResponseEntity} containing the reservations by start time and HTTP status OK,
+     *         or HTTP status BAD_REQUEST if the range is reversed or longer than a month.
+     */
+    public ResponseEntity<?> getReservations(LocalDate from, LocalDate to) {
+        from = from == null ? LocalDate.now() : from;
+        to = to == null ? from : to;
+        if (from.isAfter(to) || from.plusDays(MAX_LISTING_DAYS).isBefore(to)) {
+            return ResponseEntity.badRequest().body("The date range must be in order and at most " + MAX_LISTING_DAYS + " days long.");
+        }
+        return ResponseEntity.ok(reservationRepository.findOverlapping(from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * Checks whether a table still has a booked or seated reservation that has not ended.
+     *
+     * @param tableId The ID of the table.
+     * @return {@code true} if the table has an upcoming or current reservation.
+     */
+    public boolean hasUpcomingReservations(long tableId) {
+        IntervalTree schedule = schedules.get(tableId);
+        if (schedule == null) {
+            return false;
+        }
+        synchronized (schedule) {
+            return schedule.overlaps(toMinutes(LocalDateTime.now()), Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Drops reservations that have ended from the trees, keeping them small.
+     */
+    @Scheduled(cron = "${reservations.prune-cron:0 0 * * * *}")
+    public void pruneEnded() {
+        long now = toMinutes(LocalDateTime.now());
+        int pruned = 0;
+        for (IntervalTree schedule : schedules.values()) {
+            synchronized (schedule) {
+                pruned += schedule.removeEndingBefore(now).size();
+            }
+        }
+        logger.debug("Pruned {} ended reservations", pruned);
+    }
+
+    private List<TableStateDTO> candidateTables(Integer partySize) {
+        List<TableStateDTO> tables = new ArrayList<>();
+        List<TableStateDTO> board = floorBoardService.getBoard().getBody();
+        if (board != null) {
+            for (TableStateDTO table : board) {
+                if (seats(table, partySize)) {
+                    tables.add(table);
+                }
+            }
+        }
+        // Smallest fitting table first, so large tables stay free for large parties.
+        tables.sort(Comparator.comparing(TableStateDTO::seats, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingInt(TableStateDTO::tableNumber));
+        return tables;
+    }
+
+    // Tables without a seat count are assumed to fit any party.
+    private static boolean seats(TableStateDTO table, Integer partySize) {
+        return partySize == null || table.seats() == null || table.seats() >= partySize;
+    }
+
+    private boolean isFree(long tableId, long start, long end) {
+        IntervalTree schedule = schedules.get(tableId);
+        if (schedule == null) {
+            return true;
+        }
+        synchronized (schedule) {
+            return !schedule.overlaps(start, end);
+        }
+    }
+
+    private IntervalTree schedule(long tableId) {
+        return schedules.computeIfAbsent(tableId, id -> new IntervalTree());
+    }
+
+    private static long toMinutes(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
@@ -0,0 +1,252 @@
+package dev.andreasgeorgatos.pointofservice.service.order;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans events out to a set of Server-Sent Events connections, for the feeds in this package.
+ * <p>
+ * Each connection has its own bounded buffer that is drained on the executor the feed passes in, so a slow client
+ * can never hold up the publisher; a connection whose buffer overflows is closed. {@link #heartbeat()} queues a
+ * comment line on every connection, and {@link #dropStalledSubscribers()} closes the connections whose current send
+ * has been blocked for longer than the send timeout and interrupts the thread stuck in it.
+ * <p>
+ * The feed decides what goes out and when: it seeds a new connection through {@link Subscriber#offer(Event)}
+ * before calling {@link #add(Subscriber)}, and calls {@link #broadcast(Event)} under the same lock, so a new
+ * connection sees every event exactly once.
+ */
+final class SseFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseFanOut.class);
+
+    private static final Event HEARTBEAT = new Event(0, null, null);
+
+    private final String feedName;
+    private final Executor executor;
+    private final int connectionBufferSize;
+    private final long connectionTimeoutMs;
+    private final long sendTimeoutNanos;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs an {@code SseFanOut}.
+     *
+     * @param feedName The name of the feed, used in log messages.
+     * @param executor The executor the connection buffers are drained on.
+     * @param connectionBufferSize The number of undelivered events a single connection may hold before it is dropped.
+     * @param connectionTimeoutMs How long, in milliseconds, a connection stays open before the client has to reconnect.
+     * @param sendTimeoutMs How long, in milliseconds, a single send may block before the connection is dropped.
+     */
+    SseFanOut(String feedName, Executor executor, int connectionBufferSize, long connectionTimeoutMs, long sendTimeoutMs) {
+        this.feedName = feedName;
+        this.executor = executor;
+        this.connectionBufferSize = connectionBufferSize;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+    }
+
+    /**
+     * Creates a connection that does not receive broadcasts yet, so the feed can queue its first events.
+     *
+     * @return The new subscriber.
+     */
+    Subscriber newSubscriber() {
+        SseEmitter emitter = new SseEmitter(connectionTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, connectionBufferSize);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return subscriber;
+    }
+
+    /**
+     * Adds a subscriber to the broadcasts and starts sending it the events already queued.
+     *
+     * @param subscriber A subscriber from {@link #newSubscriber()}.
+     * @return The {@link SseEmitter} for the connection.
+     */
+    SseEmitter add(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Queues an event on every connection, closing the connections whose buffer is full.
+     *
+     * @param event The event to send.
+     */
+    void broadcast(Event event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(event)) {
+                logger.warn("{} subscriber fell {} events behind, disconnecting it", feedName, connectionBufferSize);
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+                continue;
+            }
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Queues a heartbeat comment on every connection.
+     */
+    void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            // A full buffer already has events on their way, which serve as the heartbeat.
+            if (subscriber.buffer.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Drops the connections whose current send has been blocked for longer than the send timeout.
+     */
+    void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.interruptIfStalled(now, sendTimeoutNanos)) {
+                logger.warn("{} subscriber did not accept an event within {} ms, disconnecting it", feedName, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Closes every open connection.
+     */
+    void completeAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    boolean isEmpty() {
+        return subscribers.isEmpty();
+    }
+
+    int size() {
+        return subscribers.size();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Event event;
+            while (!subscriber.stalled && (event = subscriber.buffer.poll()) != null) {
+                subscriber.startSend();
+                try {
+                    subscriber.emitter.send(event == HEARTBEAT
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event()
+                                    .id(Long.toString(event.id()))
+                                    .name(event.name())
+                                    .data(event.payload()));
+                } finally {
+                    subscriber.endSend();
+                }
+            }
+            if (subscriber.stalled) {
+                subscriber.buffer.clear();
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("{} subscriber disconnected: {}", feedName, e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.buffer.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared.
+        if (!subscriber.buffer.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * An event as sent to the client: its ID, its event name and the payload serialized as its data.
+     */
+    record Event(long id, String name, Object payload) {
+    }
+
+    /**
+     * One connection and its buffer of undelivered events.
+     */
+    static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // The thread blocked in a send and when that send started; guarded by this.
+        private Thread sender;
+        private long sendStartedAt;
+        private volatile boolean stalled;
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Queues an event for this connection only.
+         *
+         * @param event The event to send.
+         * @return {@code false} if the buffer is full.
+         */
+        boolean offer(Event event) {
+            return buffer.offer(event);
+        }
+
+        /**
+         * Discards every event queued for this connection.
+         */
+        void clear() {
+            buffer.clear();
+        }
+
+        private synchronized void startSend() {
+            sender = Thread.currentThread();
+            sendStartedAt = System.nanoTime();
+        }
+
+        private void endSend() {
+            synchronized (this) {
+                sender = null;
+            }
+            // Clears an interrupt that arrived after the send returned, so it cannot hit the next subscriber's send.
+            Thread.interrupted();
+        }
+
+        private synchronized boolean interruptIfStalled(long now, long sendTimeoutNanos) {
+            if (sender == null || now - sendStartedAt < sendTimeoutNanos) {
+                return false;
+            }
+            stalled = true;
+            sender.interrupt();
+            return true;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dev.andreasgeorgatos.pointofservice.service.payment;
 
+import dev.andreasgeorgatos.pointofservice.dto.payments.PaymentSummaryDTO;
 import dev.andreasgeorgatos.pointofservice.model.order.Order;
 import dev.andreasgeorgatos.pointofservice.model.payment.Payment;
 import dev.andreasgeorgatos.pointofservice.model.payment.PaymentMethod;
@@ -8,11 +9,15 @@ import dev.andreasgeorgatos.pointofservice.repository.orders.OrderRepository;
 import dev.andreasgeorgatos.pointofservice.repository.payments.PaymentMethodRepository;
 import dev.andreasgeorgatos.pointofservice.repository.payments.PaymentRepository;
 import dev.andreasgeorgatos.pointofservice.repository.payments.PaymentStatusRepository;
+import dev.andreasgeorgatos.pointofservice.service.order.OrderArchiveService;
+import dev.andreasgeorgatos.pointofservice.service.reports.SalesRollupService;
+import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,13 +28,17 @@ public class PaymentService {
     private final PaymentStatusRepository paymentStatusRepository;
     private final PaymentMethodRepository paymentMethodRepository;
     private final OrderRepository orderRepository;
+    private final SalesRollupService salesRollupService;
+    private final OrderArchiveService orderArchiveService;
 
     @Autowired
-    public PaymentService(PaymentRepository paymentRepository, PaymentStatusRepository paymentStatusRepository, PaymentMethodRepository paymentMethodRepository, OrderRepository orderRepository) {
+    public PaymentService(PaymentRepository paymentRepository, PaymentStatusRepository paymentStatusRepository, PaymentMethodRepository paymentMethodRepository, OrderRepository orderRepository, SalesRollupService salesRollupService, OrderArchiveService orderArchiveService) {
         this.paymentRepository = paymentRepository;
         this.paymentStatusRepository = paymentStatusRepository;
         this.paymentMethodRepository = paymentMethodRepository;
         this.orderRepository = orderRepository;
+        this.salesRollupService = salesRollupService;
+        this.orderArchiveService = orderArchiveService;
     }
 
     public ResponseEntity<List<Payment>> getAllPayments() {
@@ -41,8 +50,22 @@ public class PaymentService {
         return ResponseEntity.ok(payments);
     }
 
+    public ResponseEntity<?> getPaymentSummaries(LocalDate from, LocalDate to) {
+        LocalDate fromDate = from == null ? LocalDate.now() : from;
+        LocalDate toDate = to == null ? fromDate : to;
+        String dateRangeError = ValidationUtils.getDateRangeError(fromDate, toDate);
+        if (dateRangeError != null) {
+            return ResponseEntity.badRequest().body(dateRangeError);
+        }
+        List<PaymentSummaryDTO> summaries = paymentRepository.findSummariesByPaymentDateRange(fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay());
+        return ResponseEntity.ok(summaries);
+    }
+
     public ResponseEntity<Payment> getPaymentById(long id) {
         Optional<Payment> payment = paymentRepository.findById(id);
+        if (payment.isEmpty()) {
+            payment = orderArchiveService.findArchivedPayment(id);
+        }
         return payment.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -61,6 +84,7 @@ public class PaymentService {
         payment.setOrder(orderOptional.get());
 
         Payment savedPayment = paymentRepository.save(payment);
+        salesRollupService.recordPayment(savedPayment);
 
         return ResponseEntity.ok(savedPayment);
     }
@@ -0,0 +1,228 @@
+package dev.andreasgeorgatos.pointofservice.service.reports;
+
+import dev.andreasgeorgatos.pointofservice.dto.reports.DailyItemSalesDTO;
+import dev.andreasgeorgatos.pointofservice.dto.reports.LiveCategorySalesDTO;
+import dev.andreasgeorgatos.pointofservice.dto.reports.LiveItemSalesDTO;
+import dev.andreasgeorgatos.pointofservice.dto.reports.LiveSalesDTO;
+import dev.andreasgeorgatos.pointofservice.enums.CategoryType;
+import dev.andreasgeorgatos.pointofservice.event.OrderEvent;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.repository.orders.OrderRepository;
+import dev.andreasgeorgatos.pointofservice.repository.reports.DailyItemSalesRepository;
+import dev.andreasgeorgatos.pointofservice.service.item.ItemCatalog;
+import dev.andreasgeorgatos.pointofservice.utils.Money;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory sales counters for the current day, feeding the shift manager's live dashboard without touching
+ * the database.
+ * <p>
+ * Order count, revenue, and units and revenue per item and per category are kept in {@link LongAdder}s, which
+ * stripe their cells across threads, so the order path only pays for an uncontended add. Counters are updated
+ * once an order creation has committed. At midnight a fresh, empty set of counters takes over. On startup the
+ * current day is restored from the {@code daily_item_sales} rollup and the order table.
+ * <p>
+ * An item counts towards every category it belongs to, so category revenues may add up to more than the total.
+ */
+@Service
+public class LiveSalesService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveSalesService.class);
+
+    private final OrderRepository orderRepository;
+    private final DailyItemSalesRepository dailyItemSalesRepository;
+    private final ItemCatalog itemCatalog;
+
+    private final AtomicReference<Day> today = new AtomicReference<>(new Day(LocalDate.now()));
+
+    /**
+     * Constructs a {@code LiveSalesService}.
+     *
+     * @param orderRepository Repository used to count today's orders on startup.
+     * @param dailyItemSalesRepository Rollup used to restore today's item counters on startup.
+     * @param itemCatalog Catalog used to resolve the names and categories of restored items.
+     */
+    @Autowired
+    public LiveSalesService(OrderRepository orderRepository, DailyItemSalesRepository dailyItemSalesRepository, ItemCatalog itemCatalog) {
+        this.orderRepository = orderRepository;
+        this.dailyItemSalesRepository = dailyItemSalesRepository;
+        this.itemCatalog = itemCatalog;
+    }
+
+    /**
+     * Registers the revenue, order and category gauges. Called by Spring Boot once the service is fully
+     * constructed, for every {@link MeterRegistry} in the context.
+     *
+     * @param meterRegistry The registry the gauges are published to.
+     */
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("pos.sales.today.revenue", this, service -> Money.toEuros(service.currentDay().revenue.sum()).doubleValue())
+                .description("Revenue of the orders created today")
+                .baseUnit("euros")
+                .register(meterRegistry);
+        Gauge.builder("pos.sales.today.orders", this, service -> service.currentDay().orders.sum())
+                .description("Number of orders created today")
+                .register(meterRegistry);
+        for (CategoryType category : CategoryType.values()) {
+            Gauge.builder("pos.sales.today.category.revenue", this, service -> Money.toEuros(service.currentDay().categories.get(category).revenue.sum()).doubleValue())
+                    .description("Revenue of the items of a category sold today")
+                    .baseUnit("euros")
+                    .tag("category", category.name())
+                    .register(meterRegistry);
+            Gauge.builder("pos.sales.today.category.quantity", this, service -> service.currentDay().categories.get(category).quantity.sum())
+                    .description("Units of the items of a category sold today")
+                    .tag("category", category.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Restores today's counters from the database. Runs before the web server accepts requests, so no order
+     * can be counted twice or missed.
+     */
+    @PostConstruct
+    public void rebuild() {
+        LocalDate date = LocalDate.now();
+        Day day = new Day(date);
+        try {
+            List<DailyItemSalesDTO> rows = dailyItemSalesRepository.findReport(date, date);
+            Map<Long, Item> items = itemCatalog.resolve(rows.stream().map(DailyItemSalesDTO::itemId).toList());
+            for (DailyItemSalesDTO row : rows) {
+                Item item = items.get(row.itemId());
+                day.record(row.itemId(), item != null ? item.getItemName() : null, item != null ? item.getCategory() : null, row.quantity(), row.revenue());
+            }
+            day.orders.add(orderRepository.countByOrderDate(date));
+        } catch (RuntimeException e) {
+            logger.warn("Could not restore live sales counters for {}, starting from zero: {}", date, e.getMessage());
+            day = new Day(date);
+        }
+        today.set(day);
+        logger.info("Live sales counters restored for {}: {} orders, {} items", date, day.orders.sum(), day.items.size());
+    }
+
+    /**
+     * Counts a committed order creation. Orders dated on another day than today are ignored.
+     *
+     * @param event The order event.
+     */
+    @TransactionalEventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() != OrderEvent.Type.CREATED) {
+            return;
+        }
+        Order order = event.getOrder();
+        Day day = currentDay();
+        if (order.getOrderDate() != null && !order.getOrderDate().equals(day.date)) {
+            return;
+        }
+
+        day.orders.increment();
+        if (order.getItems() != null) {
+            for (Item item : order.getItems()) {
+                day.record(item.getId(), item.getItemName(), item.getCategory(), 1, item.getItemPrice());
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of today's counters. The counters keep changing while it is taken, so the figures are
+     * each exact but not necessarily from the same instant.
+     *
+     * @param topItems The number of best-selling items to include.
+     * @return The snapshot.
+     */
+    public LiveSalesDTO getSnapshot(int topItems) {
+        Day day = currentDay();
+
+        List<LiveCategorySalesDTO> categories = new ArrayList<>(day.categories.size());
+        for (Map.Entry<CategoryType, Counter> entry : day.categories.entrySet()) {
+            categories.add(new LiveCategorySalesDTO(entry.getKey(), entry.getValue().quantity.sum(), entry.getValue().revenue.sum()));
+        }
+
+        List<LiveItemSalesDTO> items = new ArrayList<>(day.items.size());
+        for (Map.Entry<Long, Counter> entry : day.items.entrySet()) {
+            items.add(new LiveItemSalesDTO(entry.getKey(), entry.getValue().name, entry.getValue().quantity.sum(), entry.getValue().revenue.sum()));
+        }
+        items.sort(Comparator.comparingLong(LiveItemSalesDTO::quantity).reversed().thenComparingLong(LiveItemSalesDTO::itemId));
+
+        return new LiveSalesDTO(day.date, day.orders.sum(), day.revenue.sum(), categories,
+                items.subList(0, Math.min(Math.max(topItems, 0), items.size())));
+    }
+
+    private Day currentDay() {
+        LocalDate date = LocalDate.now();
+        Day day = today.get();
+        while (day.date.isBefore(date)) {
+            Day next = new Day(date);
+            if (today.compareAndSet(day, next)) {
+                logger.info("Live sales counters rolled over to {}", date);
+                return next;
+            }
+            day = today.get();
+        }
+        return day;
+    }
+
+    private static final class Day {
+        private final LocalDate date;
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder revenue = new LongAdder();
+        private final Map<Long, Counter> items = new ConcurrentHashMap<>();
+        // Filled once here and only read afterwards, so a plain EnumMap is safe to share.
+        private final Map<CategoryType, Counter> categories = new EnumMap<>(CategoryType.class);
+
+        private Day(LocalDate date) {
+            this.date = date;
+            for (CategoryType category : CategoryType.values()) {
+                categories.put(category, new Counter(category.getCategory()));
+            }
+        }
+
+        private void record(long itemId, String itemName, Collection<CategoryType> itemCategories, long quantity, long amount) {
+            Counter item = items.computeIfAbsent(itemId, id -> new Counter(itemName));
+            item.add(quantity, amount);
+            revenue.add(amount);
+            if (itemCategories != null) {
+                for (CategoryType category : itemCategories) {
+                    categories.get(category).add(quantity, amount);
+                }
+            }
+        }
+    }
+
+    private static final class Counter {
+        private final String name;
+        private final LongAdder quantity = new LongAdder();
+        private final LongAdder revenue = new LongAdder();
+
+        private Counter(String name) {
+            this.name = name;
+        }
+
+        private void add(long units, long amount) {
+            quantity.add(units);
+            revenue.add(amount);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package dev.andreasgeorgatos.pointofservice.service.reports;
+
+import dev.andreasgeorgatos.pointofservice.dto.reports.DailyItemSalesDTO;
+import dev.andreasgeorgatos.pointofservice.dto.reports.RankedItemDTO;
+import dev.andreasgeorgatos.pointofservice.event.OrderEvent;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.repository.reports.DailyItemSalesRepository;
+import dev.andreasgeorgatos.pointofservice.service.item.ItemCatalog;
+import dev.andreasgeorgatos.pointofservice.utils.LongLongHashMap;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Incrementally maintained best-seller and "frequently ordered together" statistics for upselling.
+ * <p>
+ * Every committed order creation adds its units to a per-day, per-item counter and, for every pair of distinct
+ * items in the order, one to a sparse item-by-item co-occurrence matrix. Both are held in {@link LongLongHashMap}s,
+ * so counting allocates nothing per item, and a top-N query scans one small map instead of grouping
+ * {@code order_items}.
+ * <p>
+ * The per-item counters cover the last {@value #WINDOW_DAYS} days and are restored on startup from the
+ * {@code daily_item_sales} rollup, which is already written in the order transaction. The co-occurrence counts
+ * are restored from {@code item_pair_counts}, to which the increments collected since the last flush are upserted
+ * periodically and on shutdown; a crash loses at most one flush interval of pairs.
+ */
+@Service
+public class SalesAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesAnalyticsService.class);
+
+    private static final int WINDOW_DAYS = 7;
+    private static final String PAIR_TABLE = "item_pair_counts";
+    // Pair keys pack both item IDs into one long, 32 bits each.
+    private static final long MAX_PAIR_ITEM_ID = 0xFFFFFFFFL;
+
+    private final DailyItemSalesRepository dailyItemSalesRepository;
+    private final ItemCatalog itemCatalog;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushBatchSize;
+
+    private final Object lock = new Object();
+    // Sales date -> item ID -> units sold, for the last WINDOW_DAYS days.
+    private final TreeMap<LocalDate, LongLongHashMap> dailyQuantities = new TreeMap<>();
+    // Item ID -> other item ID -> orders containing both. Every pair is held in the rows of both items.
+    private final Map<Long, LongLongHashMap> pairCounts = new HashMap<>();
+    // Pair key -> orders counted since the last flush to PAIR_TABLE.
+    private LongLongHashMap pendingPairs = new LongLongHashMap();
+
+    /**
+     * Constructs a {@code SalesAnalyticsService}.
+     *
+     * @param dailyItemSalesRepository Rollup used to restore the per-item counters on startup.
+     * @param itemCatalog Catalog used to resolve the names of ranked items.
+     * @param entityManager Entity manager used to load and upsert the co-occurrence counts.
+     * @param transactionManager Transaction manager used to run every flush in its own transaction.
+     * @param flushBatchSize How many pairs are written per upsert statement.
+     */
+    @Autowired
+    public SalesAnalyticsService(DailyItemSalesRepository dailyItemSalesRepository, ItemCatalog itemCatalog, EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                 @Value("${sales.analytics.flush-batch-size:500}") int flushBatchSize) {
+        this.dailyItemSalesRepository = dailyItemSalesRepository;
+        this.itemCatalog = itemCatalog;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+    }
+
+    /**
+     * Restores the counters from the database. Runs before the web server accepts requests, so no order
+     * can be counted twice or missed.
+     */
+    @PostConstruct
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        synchronized (lock) {
+            dailyQuantities.clear();
+            pairCounts.clear();
+            pendingPairs = new LongLongHashMap();
+            try {
+                for (DailyItemSalesDTO row : dailyItemSalesRepository.findReport(today.minusDays(WINDOW_DAYS - 1), today)) {
+                    dailyQuantities.computeIfAbsent(row.salesDate(), date -> new LongLongHashMap()).addTo(row.itemId(), row.quantity());
+                }
+                List<?> rows = entityManager.createNativeQuery("SELECT item_id, other_item_id, order_count FROM " + PAIR_TABLE).getResultList();
+                for (Object row : rows) {
+                    Object[] columns = (Object[]) row;
+                    addPair(((Number) columns[0]).longValue(), ((Number) columns[1]).longValue(), ((Number) columns[2]).longValue());
+                }
+                logger.info("Sales analytics restored: {} days of item counts, {} item pairs", dailyQuantities.size(), rows.size());
+            } catch (RuntimeException e) {
+                logger.warn("Could not restore sales analytics, starting from zero: {}", e.getMessage());
+                dailyQuantities.clear();
+                pairCounts.clear();
+            }
+        }
+    }
+
+    /**
+     * Counts a committed order creation.
+     *
+     * @param event The order event.
+     */
+    @TransactionalEventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() != OrderEvent.Type.CREATED) {
+            return;
+        }
+        Order order = event.getOrder();
+        if (order.getItems() == null || order.getItems().isEmpty()) {
+            return;
+        }
+
+        long[] itemIds = new long[order.getItems().size()];
+        int count = 0;
+        for (Item item : order.getItems()) {
+            itemIds[count++] = item.getId();
+        }
+        Arrays.sort(itemIds);
+
+        LocalDate date = order.getOrderDate() != null ? order.getOrderDate() : LocalDate.now();
+        synchronized (lock) {
+            if (date.isAfter(LocalDate.now().minusDays(WINDOW_DAYS))) {
+                LongLongHashMap quantities = dailyQuantities.computeIfAbsent(date, key -> new LongLongHashMap());
+                for (long itemId : itemIds) {
+                    quantities.addTo(itemId, 1);
+                }
+                pruneDays();
+            }
+
+            // itemIds is sorted, so skipping repeats leaves every distinct pair exactly once, smaller ID first.
+            for (int i = 0; i < itemIds.length; i++) {
+                if (i > 0 && itemIds[i] == itemIds[i - 1]) {
+                    continue;
+                }
+                for (int j = i + 1; j < itemIds.length; j++) {
+                    if (itemIds[j] == itemIds[j - 1]) {
+                        continue;
+                    }
+                    if (itemIds[j] > MAX_PAIR_ITEM_ID) {
+                        logger.warn("Item ID: {} is too large for the co-occurrence matrix and is not paired", itemIds[j]);
+                        break;
+                    }
+                    addPair(itemIds[i], itemIds[j], 1);
+                    pendingPairs.addTo(itemIds[i] << 32 | itemIds[j], 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the best-selling items of today or of the last {@value #WINDOW_DAYS} days.
+     *
+     * @param period {@code today} or {@code week}.
+     * @param limit The maximum number of items.
+     * @return A {@link ResponseEntity} containing the items by units sold and HTTP status OK,
+     *         or HTTP status BAD_REQUEST if the period is unknown.
+     */
+    public ResponseEntity<?> getTopSellers(String period, int limit) {
+        LocalDate today = LocalDate.now();
+        LocalDate from;
+        if ("today".equalsIgnoreCase(period)) {
+            from = today;
+        } else if ("week".equalsIgnoreCase(period)) {
+            from = today.minusDays(WINDOW_DAYS - 1);
+        } else {
+            return ResponseEntity.badRequest().body("The period must be either today or week.");
+        }
+
+        TopN top = new TopN(limit);
+        synchronized (lock) {
+            pruneDays();
+            Map<LocalDate, LongLongHashMap> days = dailyQuantities.subMap(from, true, today, true);
+            if (days.size() == 1) {
+                days.values().iterator().next().forEach(top::offer);
+            } else if (!days.isEmpty()) {
+                LongLongHashMap totals = new LongLongHashMap();
+                for (LongLongHashMap day : days.values()) {
+                    day.forEach(totals::addTo);
+                }
+                totals.forEach(top::offer);
+            }
+        }
+        return ResponseEntity.ok(top.toRankedItems(itemCatalog));
+    }
+
+    /**
+     * Retrieves the items most often ordered together with an item.
+     *
+     * @param itemId The ID of the item.
+     * @param limit The maximum number of items.
+     * @return A {@link ResponseEntity} containing the items by number of shared orders and HTTP status OK.
+     */
+    public ResponseEntity<?> getOrderedTogether(long itemId, int limit) {
+        TopN top = new TopN(limit);
+        synchronized (lock) {
+            LongLongHashMap row = pairCounts.get(itemId);
+            if (row != null) {
+                row.forEach(top::offer);
+            }
+        }
+        return ResponseEntity.ok(top.toRankedItems(itemCatalog));
+    }
+
+    /**
+     * Writes the co-occurrence increments collected since the last flush to {@code item_pair_counts}.
+     * If the write fails the increments are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${sales.analytics.flush-interval-ms:60000}")
+    public void flush() {
+        LongLongHashMap pending;
+        synchronized (lock) {
+            if (pendingPairs.isEmpty()) {
+                return;
+            }
+            pending = pendingPairs;
+            pendingPairs = new LongLongHashMap();
+        }
+
+        long[] keys = new long[pending.size()];
+        long[] counts = new long[pending.size()];
+        int[] size = {0};
+        pending.forEach((key, count) -> {
+            keys[size[0]] = key;
+            counts[size[0]++] = count;
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int start = 0; start < keys.length; start += flushBatchSize) {
+                    upsertPairs(keys, counts, start, Math.min(start + flushBatchSize, keys.length));
+                }
+            });
+            logger.debug("Flushed {} item pairs to {}", keys.length, PAIR_TABLE);
+        } catch (RuntimeException e) {
+            logger.warn("Could not flush {} item pairs, retrying with the next flush: {}", keys.length, e.getMessage());
+            synchronized (lock) {
+                pending.forEach(pendingPairs::addTo);
+            }
+        }
+    }
+
+    /**
+     * Flushes the remaining co-occurrence increments before shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void upsertPairs(long[] keys, long[] counts, int start, int end) {
+        StringBuilder sql = new StringBuilder("INSERT INTO " + PAIR_TABLE + " (item_id, other_item_id, order_count) VALUES ");
+        for (int i = start; i < end; i++) {
+            sql.append(i == start ? "" : ", ").append("(:item").append(i).append(", :other").append(i).append(", :count").append(i).append(')');
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count)");
+
+        Query upsert = entityManager.createNativeQuery(sql.toString());
+        upsert.unwrap(NativeQuery.class).addSynchronizedQuerySpace(PAIR_TABLE);
+        for (int i = start; i < end; i++) {
+            upsert.setParameter("item" + i, keys[i] >>> 32)
+                    .setParameter("other" + i, keys[i] & MAX_PAIR_ITEM_ID)
+                    .setParameter("count" + i, counts[i]);
+        }
+        upsert.executeUpdate();
+    }
+
+    private void addPair(long itemId, long otherItemId, long count) {
+        pairCounts.computeIfAbsent(itemId, id -> new LongLongHashMap()).addTo(otherItemId, count);
+        pairCounts.computeIfAbsent(otherItemId, id -> new LongLongHashMap()).addTo(itemId, count);
+    }
+
+    private void pruneDays() {
+        dailyQuantities.headMap(LocalDate.now().minusDays(WINDOW_DAYS - 1), false).clear();
+    }
+
+    /**
+     * Keeps the {@code limit} entries with the highest counts, ties broken by the lower ID, in two sorted arrays.
+     * Limits are small, so insertion sort beats a heap.
+     */
+    private static final class TopN {
+        private final long[] ids;
+        private final long[] counts;
+        private int size;
+
+        private TopN(int limit) {
+            this.ids = new long[Math.max(limit, 0)];
+            this.counts = new long[Math.max(limit, 0)];
+        }
+
+        private void offer(long id, long count) {
+            if (ids.length == 0 || count <= 0) {
+                return;
+            }
+            if (size == ids.length && !ranksBefore(id, count, ids[size - 1], counts[size - 1])) {
+                return;
+            }
+            int position = size == ids.length ? size - 1 : size++;
+            while (position > 0 && ranksBefore(id, count, ids[position - 1], counts[position - 1])) {
+                ids[position] = ids[position - 1];
+                counts[position] = counts[position - 1];
+                position--;
+            }
+            ids[position] = id;
+            counts[position] = count;
+        }
+
+        private static boolean ranksBefore(long id, long count, long otherId, long otherCount) {
+            return count > otherCount || (count == otherCount && id < otherId);
+        }
+
+        private List<RankedItemDTO> toRankedItems(ItemCatalog itemCatalog) {
+            List<Long> idList = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                idList.add(ids[i]);
+            }
+            Map<Long, Item> items = itemCatalog.resolve(idList);
+            List<RankedItemDTO> ranked = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Item item = items.get(ids[i]);
+                if (item != null) {
+                    ranked.add(new RankedItemDTO(ids[i], item.getItemName(), counts[i]));
+                }
+            }
+            return ranked;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package dev.andreasgeorgatos.pointofservice.service.reports;
+
+import dev.andreasgeorgatos.pointofservice.dto.reports.DailyItemSalesDTO;
+import dev.andreasgeorgatos.pointofservice.dto.reports.DailyPaymentSalesDTO;
+import dev.andreasgeorgatos.pointofservice.model.item.Item;
+import dev.andreasgeorgatos.pointofservice.model.order.Order;
+import dev.andreasgeorgatos.pointofservice.model.payment.Payment;
+import dev.andreasgeorgatos.pointofservice.repository.reports.DailyItemSalesRepository;
+import dev.andreasgeorgatos.pointofservice.repository.reports.DailyPaymentSalesRepository;
+import dev.andreasgeorgatos.pointofservice.service.item.ItemCatalog;
+import dev.andreasgeorgatos.pointofservice.utils.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the daily sales rollup tables and serves the reports built on them.
+ * <p>
+ * {@code daily_item_sales} holds units and revenue per day, item and order type; {@code daily_payment_sales} holds
+ * the number and sum of payments per day and payment method. Both are updated with an upsert in the same
+ * transaction that creates the order or payment, and the item rollup also when an order is edited or deleted, so a
+ * report never sees a sale whose order was rolled back, and reading a report costs the same no matter how much
+ * history the hot and archive tables hold.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupService.class);
+
+    private static final String ITEM_SALES_TABLE = "daily_item_sales";
+    private static final String PAYMENT_SALES_TABLE = "daily_payment_sales";
+
+    private final DailyItemSalesRepository dailyItemSalesRepository;
+    private final DailyPaymentSalesRepository dailyPaymentSalesRepository;
+    private final ItemCatalog itemCatalog;
+    private final EntityManager entityManager;
+    private final boolean archiveEnabled;
+
+    /**
+     * Constructs a {@code SalesRollupService}.
+     *
+     * @param dailyItemSalesRepository Repository for the per-item rollup.
+     * @param dailyPaymentSalesRepository Repository for the per-payment-method rollup.
+     * @param itemCatalog Item catalog, whose list prices split each order's total over its lines.
+     * @param entityManager Entity manager used for the native upserts.
+     * @param archiveEnabled Whether orders are archived, and so whether rebuilds also read the archive tables.
+     */
+    @Autowired
+    public SalesRollupService(DailyItemSalesRepository dailyItemSalesRepository, DailyPaymentSalesRepository dailyPaymentSalesRepository, ItemCatalog itemCatalog,
+                              EntityManager entityManager, @Value("${orders.archive.enabled:false}") boolean archiveEnabled) {
+        this.dailyItemSalesRepository = dailyItemSalesRepository;
+        this.dailyPaymentSalesRepository = dailyPaymentSalesRepository;
+        this.itemCatalog = itemCatalog;
+        this.entityManager = entityManager;
+        this.archiveEnabled = archiveEnabled;
+    }
+
+    /**
+     * Adds a newly created or edited order to {@code daily_item_sales}, with a single multi-row upsert whose rows are
+     * sorted by key. Must be called inside the transaction that writes the order.
+     *
+     * @param order The order, with its date, order type, items and total.
+     */
+    public void recordOrder(Order order) {
+        upsertOrder(order, 1);
+    }
+
+    /**
+     * Takes an order out of {@code daily_item_sales} again, before it is edited or deleted. Must be called inside
+     * the transaction that changes the order, while the order still holds its stored date, type, items and total.
+     *
+     * @param order The order as it is stored.
+     */
+    public void removeOrder(Order order) {
+        if (upsertOrder(order, -1)) {
+            // The rebuild never writes empty rows, so neither does this.
+            nativeUpdate("DELETE FROM " + ITEM_SALES_TABLE + " WHERE sales_date = :date AND order_type_id = :type AND quantity <= 0", ITEM_SALES_TABLE)
+                    .setParameter("date", order.getOrderDate())
+                    .setParameter("type", order.getOrderTypeId().getId())
+                    .executeUpdate();
+        }
+    }
+
+    private boolean upsertOrder(Order order, int sign) {
+        if (order.getOrderDate() == null || order.getOrderTypeId() == null || order.getItems() == null || order.getItems().isEmpty()) {
+            logger.warn("Order ID: {} is missing its date, type or items and is not counted in the sales rollup", order.getId());
+            return false;
+        }
+
+        List<Long> itemIds = new ArrayList<>(order.getItems().size());
+        for (Item item : order.getItems()) {
+            itemIds.add(item.getId());
+        }
+        Map<Long, Item> catalogItems = itemCatalog.resolve(itemIds);
+        long listTotal = 0;
+        for (Long itemId : itemIds) {
+            Item item = catalogItems.get(itemId);
+            if (item != null) {
+                listTotal = Money.add(listTotal, item.getItemPrice());
+            }
+        }
+
+        // Date and order type are the same for every row, so sorting by item ID makes concurrent upserts lock the
+        // (sales_date, item_id, order_type_id) keys in the same order and never deadlock on each other.
+        Map<Long, long[]> itemTotals = new TreeMap<>();
+        for (Long itemId : itemIds) {
+            Item item = catalogItems.get(itemId);
+            if (item == null) {
+                // Deleted items are left out, as the rebuild's join with foods leaves them out.
+                continue;
+            }
+            long[] totals = itemTotals.computeIfAbsent(itemId, id -> new long[2]);
+            totals[0]++;
+            totals[1] = Money.add(totals[1], lineRevenue(order.getOrderTotal(), item.getItemPrice(), listTotal));
+        }
+        if (itemTotals.isEmpty()) {
+            return false;
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO " + ITEM_SALES_TABLE + " (sales_date, item_id, order_type_id, quantity, revenue) VALUES ");
+        for (int i = 0; i < itemTotals.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:date, :item").append(i).append(", :type, :quantity").append(i).append(", :revenue").append(i).append(')');
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)");
+
+        Query upsert = nativeUpdate(sql.toString(), ITEM_SALES_TABLE)
+                .setParameter("date", order.getOrderDate())
+                .setParameter("type", order.getOrderTypeId().getId());
+        int i = 0;
+        for (Map.Entry<Long, long[]> entry : itemTotals.entrySet()) {
+            upsert.setParameter("item" + i, entry.getKey())
+                    .setParameter("quantity" + i, sign * entry.getValue()[0])
+                    .setParameter("revenue" + i, Money.toEuros(sign * entry.getValue()[1]));
+            i++;
+        }
+        upsert.executeUpdate();
+        return true;
+    }
+
+    /**
+     * The share of an order's total that one line gets: the total split in proportion to the list prices of the
+     * order's items, rounded half-up to the cent per line, exactly as {@link #rebuildItemSales} computes it in SQL.
+     * For an order priced from the current list prices this is the line's price.
+     */
+    private static long lineRevenue(long orderTotal, long price, long listTotal) {
+        if (orderTotal == listTotal) {
+            return price;
+        }
+        if (listTotal == 0) {
+            return 0;
+        }
+        return BigDecimal.valueOf(orderTotal).multiply(BigDecimal.valueOf(price))
+                .divide(BigDecimal.valueOf(listTotal), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    /**
+     * Adds a newly created payment to {@code daily_payment_sales}. Must be called inside the transaction that
+     * creates the payment.
+     *
+     * @param payment The created payment, with its payment method.
+     */
+    public void recordPayment(Payment payment) {
+        if (payment.getPaymentDate() == null || payment.getPaymentMethod() == null) {
+            logger.warn("Payment ID: {} is missing its date or method and is not added to the sales rollup", payment.getId());
+            return;
+        }
+
+        nativeUpdate("INSERT INTO " + PAYMENT_SALES_TABLE + " (sales_date, payment_method_id, payment_count, amount) VALUES (:date, :method, 1, :amount) " +
+                "ON DUPLICATE KEY UPDATE payment_count = payment_count + 1, amount = amount + VALUES(amount)", PAYMENT_SALES_TABLE)
+                .setParameter("date", payment.getPaymentDate().toLocalDate())
+                .setParameter("method", payment.getPaymentMethod().getId())
+                .setParameter("amount", Money.toEuros(payment.getAmount()))
+                .executeUpdate();
+    }
+
+    /**
+     * Rebuilds both rollups for a date range from the hot tables, and the archive tables when archiving is enabled,
+     * e.g. to backfill history. Revenue comes from the stored order totals, split over each order's lines as
+     * {@link #recordOrder} splits them, so a rebuild agrees with the rollup kept up to date on order creation,
+     * edit and delete. Order lines do not keep the price they were sold at, so after a price change the split of an
+     * older order between its items follows the new prices, while its total stays the same. Orders and payments
+     * created while the rebuild runs may be counted twice, so it is meant for quiet hours.
+     *
+     * @param from The first day to rebuild.
+     * @param to The last day to rebuild.
+     * @return A {@link ResponseEntity} with a summary and HTTP status OK, or HTTP status BAD_REQUEST if {@code from} is after {@code to}.
+     */
+    @Transactional
+    public ResponseEntity<?> rebuild(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().body("The from date must not be after the to date.");
+        }
+        logger.info("Rebuilding sales rollups from {} to {}", from, to);
+
+        dailyItemSalesRepository.deleteBySalesDateBetween(from, to);
+        dailyPaymentSalesRepository.deleteBySalesDateBetween(from, to);
+
+        int itemRows = rebuildItemSales("orders", "order_items", from, to);
+        int paymentRows = rebuildPaymentSales("payments", from, to);
+        if (archiveEnabled) {
+            itemRows += rebuildItemSales("orders_archive", "order_items_archive", from, to);
+            paymentRows += rebuildPaymentSales("payments_archive", from, to);
+        }
+
+        logger.info("Rebuilt sales rollups from {} to {}: {} item rows, {} payment rows written", from, to, itemRows, paymentRows);
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "itemRows", itemRows, "paymentRows", paymentRows));
+    }
+
+    private int rebuildItemSales(String ordersTable, String orderItemsTable, LocalDate from, LocalDate to) {
+        // Each line gets its share of the order total, rounded per line like lineRevenue does.
+        return nativeUpdate("INSERT INTO " + ITEM_SALES_TABLE + " (sales_date, item_id, order_type_id, quantity, revenue) " +
+                "SELECT o.order_date, oi.item_id, o.order_types_id, COUNT(*), " +
+                "COALESCE(SUM(ROUND(o.order_total * f.item_price / NULLIF(t.list_total, 0), 2)), 0) " +
+                "FROM " + ordersTable + " o JOIN " + orderItemsTable + " oi ON oi.order_id = o.id JOIN foods f ON f.id = oi.item_id " +
+                "JOIN (SELECT lo.id AS order_id, SUM(lf.item_price) AS list_total FROM " + ordersTable + " lo " +
+                "JOIN " + orderItemsTable + " li ON li.order_id = lo.id JOIN foods lf ON lf.id = li.item_id " +
+                "WHERE lo.order_date BETWEEN :from AND :to GROUP BY lo.id) t ON t.order_id = o.id " +
+                "WHERE o.order_date BETWEEN :from AND :to AND o.order_types_id IS NOT NULL " +
+                "GROUP BY o.order_date, oi.item_id, o.order_types_id " +
+                "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)", ITEM_SALES_TABLE)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .executeUpdate();
+    }
+
+    private int rebuildPaymentSales(String paymentsTable, LocalDate from, LocalDate to) {
+        return nativeUpdate("INSERT INTO " + PAYMENT_SALES_TABLE + " (sales_date, payment_method_id, payment_count, amount) " +
+                "SELECT DATE(p.payment_date), p.payment_method_id, COUNT(*), SUM(p.amount) FROM " + paymentsTable + " p " +
+                "WHERE p.payment_date >= :from AND p.payment_date < :toExclusive " +
+                "GROUP BY DATE(p.payment_date), p.payment_method_id " +
+                "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), amount = amount + VALUES(amount)", PAYMENT_SALES_TABLE)
+                .setParameter("from", from.atStartOfDay())
+                .setParameter("toExclusive", to.plusDays(1).atStartOfDay())
+                .executeUpdate();
+    }
+
+    /**
+     * Declaring the rollup table as the only query space keeps Hibernate from flushing unrelated pending inserts
+     * before the upsert, which would break up the JDBC batches of a group commit.
+     */
+    private Query nativeUpdate(String sql, String table) {
+        Query query = entityManager.createNativeQuery(sql);
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(table);
+        return query;
+    }
+
+    /**
+     * Reads units and revenue per day, item and order type from the rollup.
+     *
+     * @param from The first day to include. Defaults to today when {@code null}.
+     * @param to The last day to include. Defaults to {@code from} when {@code null}.
+     * @param orderTypeId The order type to restrict the report to, or {@code null} for all.
+     * @return A {@link ResponseEntity} containing the report rows and HTTP status OK,
+     *         or HTTP status BAD_REQUEST if {@code from} is after {@code to}.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getItemSalesReport(LocalDate from, LocalDate to, Long orderTypeId) {
+        from = from == null ? LocalDate.now() : from;
+        to = to == null ? from : to;
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().body("The from date must not be after the to date.");
+        }
+        List<DailyItemSalesDTO> rows = orderTypeId == null
+                ? dailyItemSalesRepository.findReport(from, to)
+                : dailyItemSalesRepository.findReportByOrderType(from, to, orderTypeId);
+        return ResponseEntity.ok(rows);
+    }
+
+    /**
+     * Reads the number and sum of payments per day and payment method from the rollup.
+     *
+     * @param from The first day to include. Defaults to today when {@code null}.
+     * @param to The last day to include. Defaults to {@code from} when {@code null}.
+     * @return A {@link ResponseEntity} containing the report rows and HTTP status OK,
+     *         or HTTP status BAD_REQUEST if {@code from} is after {@code to}.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getPaymentSalesReport(LocalDate from, LocalDate to) {
+        from = from == null ? LocalDate.now() : from;
+        to = to == null ? from : to;
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().body("The from date must not be after the to date.");
+        }
+        List<DailyPaymentSalesDTO> rows = dailyPaymentSalesRepository.findReport(from, to);
+        return ResponseEntity.ok(rows);
+    }
+}
@@ -1,27 +1,41 @@
 package dev.andreasgeorgatos.pointofservice.service.rewards;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.andreasgeorgatos.pointofservice.model.rewards.MembershipCard;
 import dev.andreasgeorgatos.pointofservice.model.rewards.ReferralSource;
 import dev.andreasgeorgatos.pointofservice.repository.rewards.MembershipCardRepository;
 import dev.andreasgeorgatos.pointofservice.repository.rewards.ReferralSourceRepository;
+import dev.andreasgeorgatos.pointofservice.utils.JsonMergePatch;
+import dev.andreasgeorgatos.pointofservice.utils.ValidationUtils;
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class MembershipCardService {
 
+    private static final List<String> PATCH_HANDLED_FIELDS = List.of("id", "version", "userId", "referralSource");
+
     private final MembershipCardRepository membershipCardRepository;
     private final ReferralSourceRepository referralSourceRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @Autowired
-    public MembershipCardService(MembershipCardRepository membershipCardRepository, ReferralSourceRepository referralSourceRepository) {
+    public MembershipCardService(MembershipCardRepository membershipCardRepository, ReferralSourceRepository referralSourceRepository, ObjectMapper objectMapper, Validator validator) {
         this.membershipCardRepository = membershipCardRepository;
         this.referralSourceRepository = referralSourceRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
 
     }
 
@@ -51,6 +65,7 @@ public class MembershipCardService {
         }
 
         membershipCard.setReferralSource(optionalReferralSource.get());
+        membershipCard.setVersion(null);
 
         return ResponseEntity.ok(membershipCardRepository.save(membershipCard));
     }
@@ -71,6 +86,10 @@ public class MembershipCardService {
 
         MembershipCard foundMembershipCard = optionalMembershipCard.get();
 
+        if (membershipCard.getVersion() != null && !membershipCard.getVersion().equals(foundMembershipCard.getVersion())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(foundMembershipCard);
+        }
+
         foundMembershipCard.setType(membershipCard.getType());
         foundMembershipCard.setReferralSource(optionalReferralSource.get());
         foundMembershipCard.setCanBeRefreshed(membershipCard.isCanBeRefreshed());
@@ -88,6 +107,59 @@ public class MembershipCardService {
 
     }
 
+    @Transactional
+    public ResponseEntity<?> patchMembershipCardById(long id, JsonNode patch) {
+        Long version;
+        try {
+            JsonMergePatch.requireObject(patch);
+            version = JsonMergePatch.version(patch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        Optional<MembershipCard> optionalMembershipCard = membershipCardRepository.findById(id);
+
+        if (optionalMembershipCard.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        MembershipCard foundMembershipCard = optionalMembershipCard.get();
+
+        if (version != null && !Objects.equals(version, foundMembershipCard.getVersion())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(foundMembershipCard);
+        }
+
+        ReferralSource referralSource = null;
+        if (patch.has("referralSource")) {
+            Long referralSourceId = JsonMergePatch.referencedId(patch.get("referralSource"));
+            Optional<ReferralSource> optionalReferralSource = referralSourceId == null ? Optional.empty() : referralSourceRepository.findById(referralSourceId);
+
+            if (optionalReferralSource.isEmpty()) {
+                return ResponseEntity.badRequest().body("Invalid referral source ID provided.");
+            }
+            referralSource = optionalReferralSource.get();
+        }
+
+        try {
+            JsonMergePatch.apply(objectMapper, foundMembershipCard, patch, PATCH_HANDLED_FIELDS);
+        } catch (IllegalArgumentException e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        if (referralSource != null) {
+            foundMembershipCard.setReferralSource(referralSource);
+        }
+
+        List<String> violations = ValidationUtils.getValidationErrors(validator.validate(foundMembershipCard));
+        if (!violations.isEmpty()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseEntity.badRequest().body(violations);
+        }
+
+        return ResponseEntity.ok(membershipCardRepository.save(foundMembershipCard));
+    }
+
     @Transactional
     public ResponseEntity<MembershipCard> deleteMembershipCardById(long id) {
         Optional<MembershipCard> optionalMembershipCard = membershipCardRepository.findById(id);
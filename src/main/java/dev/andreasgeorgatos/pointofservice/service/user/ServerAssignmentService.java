@@ -2,6 +2,7 @@ package dev.andreasgeorgatos.pointofservice.service.user;
 
 import dev.andreasgeorgatos.pointofservice.model.user.ServerAssignment;
 import dev.andreasgeorgatos.pointofservice.repository.users.ServerAssignmentRepository;
+import dev.andreasgeorgatos.pointofservice.service.order.FloorBoardService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,10 +14,12 @@ import java.util.Optional;
 @Service
 public class ServerAssignmentService {
     private final ServerAssignmentRepository serverAssignmentRepository;
+    private final FloorBoardService floorBoardService;
 
     @Autowired
-    public ServerAssignmentService(ServerAssignmentRepository serverAssignmentRepository) {
+    public ServerAssignmentService(ServerAssignmentRepository serverAssignmentRepository, FloorBoardService floorBoardService) {
         this.serverAssignmentRepository = serverAssignmentRepository;
+        this.floorBoardService = floorBoardService;
     }
 
     public ResponseEntity<List<ServerAssignment>> getAllServerAssignments() {
@@ -38,6 +41,7 @@ public class ServerAssignmentService {
     @Transactional
     public ResponseEntity<ServerAssignment> createServerAssignment(ServerAssignment serverAssignment) {
         ServerAssignment savedShift = serverAssignmentRepository.save(serverAssignment);
+        refreshFloorBoard(savedShift);
 
         return ResponseEntity.ok(savedShift);
     }
@@ -48,13 +52,16 @@ public class ServerAssignmentService {
 
         if (foundServerAssignment.isPresent()) {
             ServerAssignment oldServerAssignment = foundServerAssignment.get();
+            refreshFloorBoard(oldServerAssignment);
 
             oldServerAssignment.setAssignmentDate(serverAssignment.getAssignmentDate());
             oldServerAssignment.setStatus(serverAssignment.getStatus());
             oldServerAssignment.setTableId(serverAssignment.getTableId());
             oldServerAssignment.setUserId(serverAssignment.getUserId());
 
-            return ResponseEntity.ok(serverAssignmentRepository.save(oldServerAssignment));
+            ServerAssignment savedServerAssignment = serverAssignmentRepository.save(oldServerAssignment);
+            refreshFloorBoard(savedServerAssignment);
+            return ResponseEntity.ok(savedServerAssignment);
         }
         return ResponseEntity.notFound().build();
     }
@@ -65,9 +72,15 @@ public class ServerAssignmentService {
 
         if (optionalShift.isPresent()) {
             serverAssignmentRepository.deleteById(id);
+            refreshFloorBoard(optionalShift.get());
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
 
+    private void refreshFloorBoard(ServerAssignment serverAssignment) {
+        if (serverAssignment.getTableId() != null) {
+            floorBoardService.refreshServer(serverAssignment.getTableId().getId());
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package dev.andreasgeorgatos.pointofservice.service.user;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import dev.andreasgeorgatos.pointofservice.utils.UtilClass;
 import dev.andreasgeorgatos.pointofservice.configuration.SecurityConfig;
 import dev.andreasgeorgatos.pointofservice.dto.users.UserDTO;
@@ -25,8 +26,10 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -40,6 +43,10 @@ import java.util.stream.Collectors;
 @EnableScheduling
 public class UserService implements UserDetailsService {
 
+    private static final Set<String> ADDRESS_PATCH_FIELDS = Set.of("country", "city", "street", "postalCode", "doorRingBellName", "number", "storyLevel");
+    private static final Set<String> USER_PATCH_FIELDS = Set.of("firstName", "lastName", "userName", "password", "email", "phoneNumber", "birthDate",
+            "country", "city", "street", "postalCode", "doorRingBellName", "number", "storyLevel");
+
     private final SecurityConfig securityConfig;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
@@ -393,6 +400,97 @@ public class UserService implements UserDetailsService {
         return ResponseEntity.ok(updatedUserDTO);
     }
 
+    /**
+     * Applies a JSON Merge Patch, shaped like a {@link UserDTO}, to an existing user. Only the members present in
+     * the patch are changed, and only the user and address columns whose values actually differ are written.
+     * The required fields cannot be removed, so {@code null} members are rejected.
+     *
+     * @param id The ID of the user to patch.
+     * @param patch The merge patch.
+     * @return A {@link ResponseEntity} containing the updated {@link UserDTO} and HTTP status OK if successful,
+     *         HTTP status NOT_FOUND if the user does not exist,
+     *         or HTTP status BAD_REQUEST if the patch is malformed or names an unknown field.
+     */
+    @Transactional
+    public ResponseEntity<?> patchUserById(Long id, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            return ResponseEntity.badRequest().body("A merge patch must be a JSON object.");
+        }
+
+        Optional<User> optionalUser = userRepository.findById(id);
+
+        if (optionalUser.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        User user = optionalUser.get();
+        Address address = user.getAddressId();
+
+        // The whole patch is checked before the user is touched, so a rejected patch leaves it unchanged.
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+
+            if (!USER_PATCH_FIELDS.contains(name)) {
+                return ResponseEntity.badRequest().body("Unknown field: " + name);
+            }
+            if (field.getValue().isNull()) {
+                return ResponseEntity.badRequest().body("The field " + name + " can't be removed.");
+            }
+            if (name.equals("storyLevel")) {
+                if (!field.getValue().isIntegralNumber() || !field.getValue().canConvertToLong()) {
+                    return ResponseEntity.badRequest().body("The field storyLevel must be an integer.");
+                }
+            } else if (!field.getValue().isTextual()) {
+                return ResponseEntity.badRequest().body("The field " + name + " must be a string.");
+            }
+            if (ADDRESS_PATCH_FIELDS.contains(name) && address == null) {
+                return ResponseEntity.badRequest().body("The user has no address to patch.");
+            }
+        }
+        LocalDate birthDate = null;
+        if (patch.has("birthDate")) {
+            try {
+                birthDate = LocalDate.parse(patch.get("birthDate").asText());
+            } catch (DateTimeParseException e) {
+                return ResponseEntity.badRequest().body("The birth date must be in the format yyyy-MM-dd.");
+            }
+        }
+
+        fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String value = field.getValue().asText();
+
+            switch (field.getKey()) {
+                case "firstName" -> user.setFirstName(value);
+                case "lastName" -> user.setLastName(value);
+                case "userName" -> user.setUserName(value);
+                case "email" -> user.setEmail(value);
+                case "phoneNumber" -> user.setPhoneNumber(value);
+                case "password" -> {
+                    if (!value.isEmpty() && !value.equals("This is classified information.")) {
+                        user.setPassword(securityConfig.delegatingPasswordEncoder().encode(value));
+                    }
+                }
+                case "birthDate" -> user.setBirthDate(birthDate);
+                case "country" -> address.setCountry(value);
+                case "city" -> address.setCity(value);
+                case "street" -> address.setStreet(value);
+                case "postalCode" -> address.setPostalCode(value);
+                case "doorRingBellName" -> address.setDoorRingBellName(value);
+                case "number" -> address.setNumber(value);
+                case "storyLevel" -> address.setStoryLevel(field.getValue().asLong());
+                default -> throw new IllegalStateException("Unhandled field: " + field.getKey());
+            }
+        }
+
+        userRepository.save(user);
+
+        return ResponseEntity.ok(UtilClass.convertUserToUserDTO(user));
+    }
+
     /**
      * Generates a unique verification token composed of a UUID and a timestamp.
      *
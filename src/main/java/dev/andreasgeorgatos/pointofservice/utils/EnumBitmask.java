@@ -0,0 +1,76 @@
+package dev.andreasgeorgatos.pointofservice.utils;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * Helpers for sets of enum constants held as a {@code long} bitmask, bit {@code n} standing for the constant with
+ * ordinal {@code n}. The ordinals therefore become part of the stored data: new constants must be appended, and
+ * existing ones must never be reordered or removed.
+ */
+public final class EnumBitmask {
+
+    private EnumBitmask() {
+    }
+
+    /**
+     * Converts a set of constants to a bitmask.
+     *
+     * @param values The constants, or {@code null}.
+     * @param <E> The enum type.
+     * @return The bitmask, {@code 0} for a {@code null} or empty set.
+     */
+    public static <E extends Enum<E>> long toMask(Collection<E> values) {
+        long mask = 0;
+        if (values != null) {
+            for (E value : values) {
+                mask |= bit(value);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Converts a bitmask to a set of constants.
+     *
+     * @param mask The bitmask.
+     * @param type The enum type.
+     * @param <E> The enum type.
+     * @return A new, mutable set holding the constants whose bits are set.
+     * @throws IllegalArgumentException if a bit is set that no constant stands for.
+     */
+    public static <E extends Enum<E>> EnumSet<E> fromMask(long mask, Class<E> type) {
+        E[] constants = type.getEnumConstants();
+        EnumSet<E> values = EnumSet.noneOf(type);
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            int ordinal = Long.numberOfTrailingZeros(remaining);
+            if (ordinal >= constants.length) {
+                throw new IllegalArgumentException("Bit " + ordinal + " does not stand for any " + type.getSimpleName());
+            }
+            values.add(constants[ordinal]);
+        }
+        return values;
+    }
+
+    /**
+     * Returns the bit of a single constant.
+     *
+     * @param value The constant.
+     * @return The bit standing for the constant.
+     */
+    public static long bit(Enum<?> value) {
+        return 1L << value.ordinal();
+    }
+
+    /**
+     * Checks that an enum has few enough constants to fit in a {@code long} bitmask.
+     *
+     * @param type The enum type.
+     * @throws IllegalStateException if the enum has more than 64 constants.
+     */
+    public static void requireFits(Class<? extends Enum<?>> type) {
+        if (type.getEnumConstants().length > Long.SIZE) {
+            throw new IllegalStateException(type.getSimpleName() + " has more than " + Long.SIZE + " constants and cannot be held in a bitmask");
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package dev.andreasgeorgatos.pointofservice.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Augmented AVL tree of half-open intervals {@code [start, end)} over {@code long}s, each tagged with a
+ * {@code long} ID. Nodes are ordered by start, then ID, and every node knows the largest end in its subtree, so
+ * an overlap query only descends into subtrees that can contain an overlapping interval and finds whether any
+ * interval overlaps in {@code O(log n)}.
+ * <p>
+ * Not thread-safe.
+ */
+public final class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    /**
+     * Adds an interval.
+     *
+     * @param start The inclusive start.
+     * @param end The exclusive end. Must be after {@code start}.
+     * @param id The ID of the interval. The pair of {@code start} and {@code id} must be unique.
+     */
+    public void insert(long start, long end, long id) {
+        if (end <= start) {
+            throw new IllegalArgumentException("The end must be after the start");
+        }
+        root = insert(root, start, end, id);
+    }
+
+    /**
+     * Removes an interval.
+     *
+     * @param start The start the interval was added with.
+     * @param id The ID of the interval.
+     * @return Whether the interval was found and removed.
+     */
+    public boolean remove(long start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Checks whether any interval overlaps {@code [start, end)}.
+     *
+     * @param start The inclusive start.
+     * @param end The exclusive end.
+     * @return Whether an overlapping interval exists.
+     */
+    public boolean overlaps(long start, long end) {
+        Node node = root;
+        while (node != null && node.maxEnd > start) {
+            if (node.start < end && node.end > start) {
+                return true;
+            }
+            // The left subtree may still end after start; if it cannot, only the right one is left.
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else if (node.start < end) {
+                node = node.right;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes every interval that ends at or before a point.
+     *
+     * @param time The point.
+     * @return The IDs of the removed intervals.
+     */
+    public List<Long> removeEndingBefore(long time) {
+        List<long[]> expired = new ArrayList<>();
+        collectEndingBefore(root, time, expired);
+        List<Long> ids = new ArrayList<>(expired.size());
+        for (long[] interval : expired) {
+            remove(interval[0], interval[1]);
+            ids.add(interval[1]);
+        }
+        return ids;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static void collectEndingBefore(Node node, long time, List<long[]> expired) {
+        if (node == null) {
+            return;
+        }
+        collectEndingBefore(node.left, time, expired);
+        if (node.end <= time) {
+            expired.add(new long[]{node.start, node.id});
+        }
+        // Intervals in the right subtree start no earlier than this one, so none of them can end by time once it starts at or after it.
+        if (node.start < time) {
+            collectEndingBefore(node.right, time, expired);
+        }
+    }
+
+    private Node insert(Node node, long start, long end, long id) {
+        if (node == null) {
+            size++;
+            return new Node(start, end, id);
+        }
+        int order = compare(start, id, node);
+        if (order < 0) {
+            node.left = insert(node.left, start, end, id);
+        } else if (order > 0) {
+            node.right = insert(node.right, start, end, id);
+        } else {
+            throw new IllegalArgumentException("Interval " + id + " starting at " + start + " already exists");
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(start, id, node);
+        if (order < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (order > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.left = node.left;
+            successor.right = node.right;
+            return balance(successor);
+        }
+        return balance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int order = Long.compare(start, node.start);
+        return order != 0 ? order : Long.compare(id, node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final long id;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+}
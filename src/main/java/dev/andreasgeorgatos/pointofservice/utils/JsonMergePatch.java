@@ -0,0 +1,148 @@
+package dev.andreasgeorgatos.pointofservice.utils;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Helpers for JSON Merge Patch (RFC 7396) request bodies.
+ * <p>
+ * A patch is applied to a managed entity field by field, so only the properties present in the patch are set.
+ * Together with {@code @DynamicUpdate}, Hibernate's dirty checking then writes just the columns whose values
+ * actually changed.
+ */
+public final class JsonMergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * Applies the scalar members of a merge patch to an object. Members named in {@code excludedFields} are left
+     * for the caller to handle, typically identifiers, versions and associations that must be resolved through
+     * a repository. A {@code null} member clears the property, as RFC 7396 specifies, unless the property is
+     * required: a primitive, a non-nullable column or association, or a {@code @NotNull}/{@code @NotBlank}/
+     * {@code @NotEmpty} field.
+     *
+     * @param objectMapper The mapper used to read the patch values.
+     * @param target The object to update in place.
+     * @param patch The merge patch. Must be a JSON object.
+     * @param excludedFields The members of the patch that are not applied.
+     * @param <T> The type of the target.
+     * @return The updated target.
+     * @throws IllegalArgumentException if the patch is not a JSON object, a value has the wrong type or a required
+     * property is set to {@code null}.
+     */
+    public static <T> T apply(ObjectMapper objectMapper, T target, JsonNode patch, Collection<String> excludedFields) {
+        requireObject(patch);
+        ObjectNode fields = ((ObjectNode) patch).deepCopy();
+        fields.remove(excludedFields);
+        if (fields.isEmpty()) {
+            return target;
+        }
+        rejectRequiredNulls(objectMapper, target, fields);
+        try {
+            return objectMapper.readerForUpdating(target).readValue(fields);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid merge patch: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the {@code version} member of a patch.
+     *
+     * @param patch The merge patch. Must be a JSON object.
+     * @return The version, or {@code null} if the patch carries none.
+     * @throws IllegalArgumentException if the version is not an integer.
+     */
+    public static Long version(JsonNode patch) {
+        JsonNode version = patch.get("version");
+        if (version == null || version.isNull()) {
+            return null;
+        }
+        if (!version.isIntegralNumber() || !version.canConvertToLong()) {
+            throw new IllegalArgumentException("The version must be an integer.");
+        }
+        return version.asLong();
+    }
+
+    /**
+     * Checks that a merge patch is a JSON object.
+     *
+     * @param patch The merge patch.
+     * @throws IllegalArgumentException if the patch is not a JSON object.
+     */
+    public static void requireObject(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object.");
+        }
+    }
+
+    /**
+     * Reads the {@code id} of an association member of a patch, which may be given either as
+     * {@code {"id": 3}} or as a bare number.
+     *
+     * @param value The member value.
+     * @return The referenced ID, or {@code null} if the value holds none.
+     */
+    public static Long referencedId(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        JsonNode id = value.isObject() ? value.get("id") : value;
+        return id != null && id.canConvertToLong() ? id.asLong() : null;
+    }
+
+    private static void rejectRequiredNulls(ObjectMapper objectMapper, Object target, ObjectNode fields) {
+        BeanDescription description = null;
+        Iterator<Map.Entry<String, JsonNode>> members = fields.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            if (!member.getValue().isNull()) {
+                continue;
+            }
+            if (description == null) {
+                description = objectMapper.getDeserializationConfig()
+                        .introspect(objectMapper.constructType(target.getClass()));
+            }
+            for (BeanPropertyDefinition property : description.findProperties()) {
+                if (property.getName().equals(member.getKey()) && isRequired(property)) {
+                    throw new IllegalArgumentException("The field " + member.getKey() + " can't be null.");
+                }
+            }
+        }
+    }
+
+    private static boolean isRequired(BeanPropertyDefinition property) {
+        if (property.getPrimaryType().isPrimitive()) {
+            return true;
+        }
+        AnnotatedField annotatedField = property.getField();
+        if (annotatedField == null) {
+            return false;
+        }
+        Field field = annotatedField.getAnnotated();
+        Column column = field.getAnnotation(Column.class);
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        return (column != null && !column.nullable())
+                || (joinColumn != null && !joinColumn.nullable())
+                || field.isAnnotationPresent(NotNull.class)
+                || field.isAnnotationPresent(NotBlank.class)
+                || field.isAnnotationPresent(NotEmpty.class);
+    }
+}
@@ -0,0 +1,130 @@
+package dev.andreasgeorgatos.pointofservice.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code long} to {@code long}, for counters keyed by IDs that would otherwise be
+ * boxed into {@code Map<Long, Long>} entries. Absent keys read as {@code 0}.
+ * <p>
+ * Not thread-safe. {@code 0} is reserved as the empty-slot marker and cannot be used as a key, which is fine for
+ * database IDs.
+ */
+public final class LongLongHashMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    public LongLongHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key The key.
+     * @return The value, or {@code 0} if the key is absent.
+     */
+    public long get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds to the value of a key, inserting the key if it is absent.
+     *
+     * @param key The key. Must not be {@code 0}.
+     * @param delta The amount to add.
+     * @return The new value.
+     */
+    public long addTo(long key, long delta) {
+        if (key == 0) {
+            throw new IllegalArgumentException("0 cannot be used as a key");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return delta;
+    }
+
+    /**
+     * Calls the consumer for every entry, in no particular order. The map must not be modified meanwhile.
+     *
+     * @param consumer The consumer.
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Receives the entries of a {@link LongLongHashMap} without boxing.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+}
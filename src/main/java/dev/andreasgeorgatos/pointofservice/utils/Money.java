@@ -0,0 +1,49 @@
+package dev.andreasgeorgatos.pointofservice.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Helpers for monetary amounts, which are held as a primitive {@code long} number of euro cents.
+ * Sums over line items therefore stay exact and never allocate; {@link BigDecimal} is only used at
+ * the edges (database columns and JSON).
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a euro amount to cents. Amounts with fractions of a cent are rejected rather than rounded.
+     *
+     * @param euros The amount in euros.
+     * @return The amount in cents.
+     * @throws ArithmeticException if the amount has more than two significant decimals or does not fit in a {@code long}.
+     */
+    public static long toCents(BigDecimal euros) {
+        return euros.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts an amount in cents to euros with a scale of two.
+     *
+     * @param cents The amount in cents.
+     * @return The amount in euros.
+     */
+    public static BigDecimal toEuros(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Adds two amounts in cents, failing instead of silently overflowing.
+     *
+     * @param a The first amount in cents.
+     * @param b The second amount in cents.
+     * @return The sum in cents.
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+}
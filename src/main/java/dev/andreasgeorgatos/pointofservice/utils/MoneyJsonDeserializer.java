@@ -0,0 +1,39 @@
+package dev.andreasgeorgatos.pointofservice.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads a euro decimal (e.g. {@code 12.50} or {@code "12.50"}) into an amount held in cents.
+ * Amounts with fractions of a cent are rejected as invalid input.
+ */
+public class MoneyJsonDeserializer extends JsonDeserializer<Long> {
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        BigDecimal euros;
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> euros = parser.getDecimalValue();
+            case VALUE_STRING -> {
+                String text = parser.getText().trim();
+                try {
+                    euros = new BigDecimal(text);
+                } catch (NumberFormatException e) {
+                    throw context.weirdStringException(text, Long.class, "not a euro amount");
+                }
+            }
+            default -> {
+                return (Long) context.handleUnexpectedToken(Long.class, parser);
+            }
+        }
+        try {
+            return Money.toCents(euros);
+        } catch (ArithmeticException e) {
+            throw context.weirdNumberException(euros, Long.class, "euro amounts must be whole cents");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package dev.andreasgeorgatos.pointofservice.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Writes an amount held in cents as a euro decimal (e.g. {@code 1250} as {@code 12.50}), so the API keeps its euro format.
+ */
+public class MoneyJsonSerializer extends JsonSerializer<Long> {
+
+    @Override
+    public void serialize(Long cents, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        generator.writeNumber(Money.toEuros(cents));
+    }
+}
@@ -1,12 +1,21 @@
 package dev.andreasgeorgatos.pointofservice.utils;
 
+import jakarta.validation.ConstraintViolation;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.validation.BindingResult;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
 
 public final class ValidationUtils { // Added final
 
+    /**
+     * The longest date range, in days and counting both ends, that a list endpoint filtered by date may cover.
+     */
+    public static final int MAX_DATE_RANGE_DAYS = 31;
+
     private ValidationUtils() { // Added private constructor
     }
 
@@ -23,4 +32,35 @@ public final class ValidationUtils { // Added final
                 .map(DefaultMessageSourceResolvable::getDefaultMessage)
                 .toList(); // Assumes Java 16+ for .toList()
     }
+
+    /**
+     * Extracts error messages from the constraint violations found by validating an object directly, e.g. an
+     * entity after a merge patch has been applied to it.
+     *
+     * @param violations The constraint violations
+     * @return A list of error messages
+     */
+    public static List<String> getValidationErrors(Set<? extends ConstraintViolation<?>> violations) {
+        return violations
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
+    }
+
+    /**
+     * Checks a date range requested from a list endpoint.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The error message to return to the client, or {@code null} if the range is valid.
+     */
+    public static String getDateRangeError(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return "The from date must not be after the to date.";
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DATE_RANGE_DAYS) {
+            return "The date range must not be longer than " + MAX_DATE_RANGE_DAYS + " days.";
+        }
+        return null;
+    }
 }
@@ -0,0 +1,35 @@
+-- Adds the position column that Order.items is ordered by (@OrderColumn) to the order_items join table, and
+-- numbers the rows of every existing order 0, 1, 2, ... in their current row order, i.e. the order Hibernate
+-- read them in before the column existed. Without it, loading an order whose rows have no position fails.
+--
+-- Run once, with the application stopped, before deploying the version that maps the column. Like the rest of
+-- the schema it is applied by hand; it is not picked up automatically.
+--
+-- order_items has no key of its own, so InnoDB keeps its rows in insertion order. The rows are copied in that
+-- order into a table with an auto-increment sequence, which then gives each order's rows their positions.
+
+CREATE TABLE order_items_numbered (
+    seq      BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    item_id  BIGINT NOT NULL
+);
+
+INSERT INTO order_items_numbered (order_id, item_id)
+SELECT order_id, item_id FROM order_items;
+
+ALTER TABLE order_items ADD COLUMN position INT NULL;
+
+DELETE FROM order_items;
+
+INSERT INTO order_items (order_id, item_id, position)
+SELECT order_id, item_id, ROW_NUMBER() OVER (PARTITION BY order_id ORDER BY seq) - 1
+FROM order_items_numbered;
+
+ALTER TABLE order_items
+    MODIFY position INT NOT NULL,
+    ADD PRIMARY KEY (order_id, position);
+
+DROP TABLE order_items_numbered;
+
+-- If order archiving has already created order_items_archive, it must keep the same columns as order_items.
+-- Repeat the steps above for it, with order_items_archive in place of order_items.